@@ -0,0 +1,77 @@
+package api;
+
+import com.google.gson.Gson;
+import database.CustomerAccounts;
+import database.CustomerCreditsAmount;
+import database.CustomerInfo;
+import database.CustomerSnapshot;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerJsonBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private static final byte[] ACCOUNTS = bytes("[{\"customerId\":1017,\"azn\":2,\"usd\":1,\"eur\":0,\"updatedAt\":\"2019-09-30T10:15:00\"}]");
+    private static final byte[] CREDITS = bytes("[{\"customerId\":1017,\"totalCreditsAmountInAZN\":15400,\"totalCreditsAmountInUSD\":0}]");
+    private static final byte[] INFO = bytes("{\"customerName\":\"Shirin\",\"customerSurname\":\"Isgandarli\",\"segment\":\"retail\"}");
+    private static final byte[] SUMMARY = bytes("{\"customerName\":\"Shirin\",\"customerSurname\":\"Isgandarli\","
+            + "\"accounts\":[{\"azn\":2,\"usd\":1,\"eur\":0}],"
+            + "\"credits\":[{\"totalCreditsAmountInAZN\":15400,\"totalCreditsAmountInUSD\":0}]}");
+
+    private final Gson reflective = new Gson();
+
+    @Benchmark
+    public CustomerAccounts accounts() throws IOException {
+        return CustomerJson.FIRST_ACCOUNTS.parse(body(ACCOUNTS));
+    }
+
+    @Benchmark
+    public CustomerCreditsAmount creditsAmount() throws IOException {
+        return CustomerJson.FIRST_CREDITS_AMOUNT.parse(body(CREDITS));
+    }
+
+    @Benchmark
+    public CustomerInfo customerInfo() throws IOException {
+        return CustomerJson.CUSTOMER_INFO.parse(body(INFO));
+    }
+
+    @Benchmark
+    public CustomerSnapshot summary() throws IOException {
+        return CustomerJson.SUMMARY.parse(body(SUMMARY));
+    }
+
+    @Benchmark
+    public CustomerAccounts accountsReflective() throws IOException {
+        try (ResponseBody body = body(ACCOUNTS)) {
+            return reflective.fromJson(body.charStream(), CustomerAccounts[].class)[0];
+        }
+    }
+
+    private static ResponseBody body(byte[] json) {
+        return ResponseBody.create(json, JSON);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
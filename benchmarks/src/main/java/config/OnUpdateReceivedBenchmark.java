@@ -0,0 +1,111 @@
+package config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telegram.telegrambots.ApiContextInitializer;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+        "--add-opens=java.base/java.lang=ALL-UNNAMED",
+        "-Dbot.outbound.globalPerSecond=1000000000",
+        "-Dbot.outbound.chatPerSecond=1000000000",
+        "-Dbot.outbound.chatBurst=1000000"})
+public class OnUpdateReceivedBenchmark {
+
+    private static final long CHAT_ID = 42L;
+
+    private StubbedBot bot;
+    private Update settings;
+    private Update unknownText;
+    private Update branchAddress;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        ApiContextInitializer.init();
+        ObjectReader reader = new ObjectMapper()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readerFor(Update.class);
+        settings = reader.readValue(message(1, SwitchCaseStrings.settingsAz));
+        unknownText = reader.readValue(message(2, "salam"));
+        branchAddress = reader.readValue(callback(3, "Head_Office"));
+
+        bot = new StubbedBot();
+        bot.onUpdateReceived(reader.readValue(message(0, SwitchCaseStrings.languageAz)));
+        bot.executed.acquire();
+    }
+
+    @TearDown
+    public void tearDown() {
+        bot.onClosing();
+    }
+
+    @Benchmark
+    public void textRoute() throws InterruptedException {
+        bot.onUpdateReceived(settings);
+        bot.executed.acquire();
+    }
+
+    @Benchmark
+    public void fallbackRoute() throws InterruptedException {
+        bot.onUpdateReceived(unknownText);
+        bot.executed.acquire();
+    }
+
+    @Benchmark
+    public void callbackRoute() throws InterruptedException {
+        bot.onUpdateReceived(branchAddress);
+        bot.executed.acquire();
+    }
+
+    private static String message(int updateId, String text) {
+        return "{\"update_id\":" + updateId + ",\"message\":" + messageBody(100 + updateId, text) + "}";
+    }
+
+    private static String callback(int updateId, String data) {
+        return "{\"update_id\":" + updateId + ",\"callback_query\":{\"id\":\"" + updateId + "\",\"chat_instance\":\"1\","
+                + "\"from\":" + user() + ",\"data\":\"" + data + "\",\"message\":" + messageBody(100 + updateId, "menu") + "}}";
+    }
+
+    private static String messageBody(int messageId, String text) {
+        return "{\"message_id\":" + messageId + ",\"date\":1570000000,\"chat\":{\"id\":" + CHAT_ID + ",\"type\":\"private\"},"
+                + "\"from\":" + user() + ",\"text\":\"" + text + "\"}";
+    }
+
+    private static String user() {
+        return "{\"id\":" + CHAT_ID + ",\"is_bot\":false,\"first_name\":\"Shirin\"}";
+    }
+
+    static final class StubbedBot extends BotConfig {
+
+        private final Semaphore executed = new Semaphore(0);
+
+        @Override
+        public <T extends Serializable, Method extends BotApiMethod<T>> T execute(Method method) {
+            executed.release();
+            return null;
+        }
+    }
+}
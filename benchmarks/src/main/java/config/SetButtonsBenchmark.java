@@ -0,0 +1,48 @@
+package config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetButtonsBenchmark {
+
+    @Param({"NULL", "SETTINGS", "ACCOUNTS", "BRANCHES"})
+    public BotConfig.ButtonsType buttonsType;
+
+    @Param({"true", "false"})
+    public boolean customer;
+
+    private RequestContext context;
+
+    @Setup
+    public void setUp() {
+        context = new RequestContext(42L, "en", customer ? "994501234567" : null, UpdateScope.fromSystemProperties(System.nanoTime()));
+    }
+
+    @Benchmark
+    public SendMessage setButtons() {
+        SendMessage sendMessage = new SendMessage();
+        sendMessage.enableMarkdown(true);
+        sendMessage.setChatId(context.getChatId());
+        sendMessage.setText("text");
+        BotButtonsConfig.setButtons(sendMessage, true, context, buttonsType);
+        return sendMessage;
+    }
+}
@@ -0,0 +1,79 @@
+package langs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LanguageElementBenchmark {
+
+    @Param({"az", "en", "ru"})
+    public String lang;
+
+    private byte[] xml;
+    private String[] tags;
+
+    @Setup
+    public void setUp() throws Exception {
+        try (InputStream in = LanguageElementBenchmark.class.getResourceAsStream("/languages.xml")) {
+            xml = in.readAllBytes();
+        }
+        List<String> names = new ArrayList<>();
+        NodeList children = parse(lang).getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+                names.add(children.item(i).getNodeName());
+            }
+        }
+        tags = names.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public LanguageElement of() {
+        return LanguageElement.of(lang);
+    }
+
+    @Benchmark
+    public String welcomeText() {
+        return String.format(LanguageElement.of(lang).welcomeText.trim(), "Shirin", "Isgandarli");
+    }
+
+    @Benchmark
+    public String[] ofReparsing() throws Exception {
+        String[] values = new String[tags.length];
+        for (int i = 0; i < tags.length; i++) {
+            values[i] = parse(lang).getElementsByTagName(tags[i]).item(0).getChildNodes().item(0).getNodeValue();
+        }
+        return values;
+    }
+
+    private Element parse(String language) throws Exception {
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+        doc.getDocumentElement().normalize();
+        return (Element) doc.getElementsByTagName(language).item(0);
+    }
+}
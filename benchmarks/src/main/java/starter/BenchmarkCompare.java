@@ -0,0 +1,71 @@
+package starter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BenchmarkCompare {
+
+    private static final String ALLOCATION = "\u00b7gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: BenchmarkCompare <baseline.json> <latest.json> [tolerancePercent]");
+            return;
+        }
+        Map<String, Result> baseline = read(args[0]);
+        Map<String, Result> latest = read(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        int regressions = 0;
+        System.out.println(String.format("%-70s %14s %14s %8s %12s %12s",
+                "Benchmark", "Baseline", "Latest", "Delta", "Alloc B/op", "Was B/op"));
+        for (Map.Entry<String, Result> entry : latest.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println(String.format("%-70s %14s %14.3f %8s %12.1f %12s",
+                        entry.getKey(), "-", now.score, "new", now.allocated, "-"));
+                continue;
+            }
+            double delta = (now.score - before.score) / before.score * 100;
+            boolean slower = now.lowerIsBetter ? delta > tolerance : delta < -tolerance;
+            boolean allocating = now.allocated > before.allocated * (1 + tolerance / 100) + 16;
+            if (slower || allocating) {
+                regressions++;
+            }
+            System.out.println(String.format("%-70s %14.3f %14.3f %+7.1f%% %12.1f %12.1f%s",
+                    entry.getKey(), before.score, now.score, delta, now.allocated, before.allocated,
+                    slower || allocating ? "  REGRESSION" : ""));
+        }
+        System.out.println(regressions + " regression(s) beyond " + tolerance + "% in " + Paths.get(args[1]).getFileName());
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(String file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(Paths.get(file).toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            Result result = new Result();
+            result.score = run.path("primaryMetric").path("score").asDouble();
+            result.lowerIsBetter = !"thrpt".equals(run.path("mode").asText());
+            result.allocated = run.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble(Double.NaN);
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static final class Result {
+        private double score;
+        private double allocated;
+        private boolean lowerIsBetter;
+    }
+}
@@ -0,0 +1,67 @@
+package starter;
+
+import auth.ChatSession;
+import auth.CompactSessionStore;
+import auth.InMemorySessionStore;
+import auth.SessionStore;
+
+import java.util.concurrent.TimeUnit;
+
+public class SessionFootprint {
+
+    private static final String[] LANGUAGES = {"az", "en", "ru"};
+    private static final long FIRST_CHAT = 100_000_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println(String.format("%-8s %10s %14s %12s %10s %10s",
+                "Store", "Sessions", "Retained MB", "B/session", "Fill ms", "Get ns"));
+        for (String store : new String[]{"memory", "compact", "memory", "compact"}) {
+            measure(store, sessions);
+        }
+    }
+
+    private static void measure(String name, int sessions) throws InterruptedException {
+        long before = usedHeap();
+        SessionStore store = "compact".equals(name)
+                ? new CompactSessionStore(sessions, 30, TimeUnit.MINUTES)
+                : new InMemorySessionStore(30, TimeUnit.MINUTES);
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            String lang = LANGUAGES[i % LANGUAGES.length];
+            String phone = i % 4 == 0 ? null : String.valueOf(994_500_000_000L + i);
+            store.update(chatId(i), session -> new ChatSession(lang, phone));
+        }
+        long filledNanos = System.nanoTime() - start;
+        long retained = usedHeap() - before;
+
+        int hits = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            if (store.get(chatId((int) ((i * 2_654_435_761L) % sessions))).getLang() != null) {
+                hits++;
+            }
+        }
+        long getNanos = System.nanoTime() - start;
+        if (hits != store.size()) {
+            throw new IllegalStateException("Expected " + store.size() + " sessions, read " + hits);
+        }
+        System.out.println(String.format("%-8s %10d %14.1f %12.1f %10d %10.1f",
+                name, store.size(), retained / 1048576.0, (double) retained / sessions,
+                TimeUnit.NANOSECONDS.toMillis(filledNanos), (double) getNanos / sessions));
+        store.close();
+    }
+
+    private static long chatId(int i) {
+        return FIRST_CHAT + i * 7_919L;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
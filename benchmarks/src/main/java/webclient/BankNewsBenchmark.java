@@ -0,0 +1,76 @@
+package webclient;
+
+import com.gargoylesoftware.htmlunit.MockWebConnection;
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.HtmlDivision;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankNewsBenchmark {
+
+    private static final String NEWS_URL = "https://www.pashabank.az/press_centre/lang,en/";
+    private static final String NEWS_CLASS = "news-box-news";
+    private static final int HEADLINES = 3;
+
+    private final String page = page();
+
+    @Benchmark
+    public List<String> headlines() throws IOException {
+        return HtmlExtractor.elementTexts(new StringReader(page), "div", NEWS_CLASS, HEADLINES);
+    }
+
+    @Benchmark
+    public List<String> headlinesHtmlUnit() throws IOException {
+        try (WebClient webClient = new WebClient()) {
+            webClient.getOptions().setJavaScriptEnabled(false);
+            webClient.getOptions().setCssEnabled(false);
+            MockWebConnection connection = new MockWebConnection();
+            connection.setResponse(new URL(NEWS_URL), page);
+            webClient.setWebConnection(connection);
+
+            HtmlPage htmlPage = webClient.getPage(NEWS_URL);
+            List<HtmlDivision> divisions = htmlPage.getByXPath("//div[@class='" + NEWS_CLASS + "']");
+            List<String> headlines = new ArrayList<>();
+            for (int i = 0; i < HEADLINES; i++) {
+                headlines.add(divisions.get(i).asText());
+            }
+            return headlines;
+        }
+    }
+
+    private static String page() {
+        StringBuilder html = new StringBuilder("<html><head><title>Press centre</title>\n")
+                .append("<script>var banner = '<div class=\"news-box-news\">ad</div>';</script></head><body>\n");
+        for (int i = 0; i < 40; i++) {
+            html.append("<div class=\"menu_item\"><a href=\"/page/").append(i).append("\">Section ").append(i).append("</a></div>\n");
+        }
+        for (int i = 0; i < 12; i++) {
+            html.append("<div class=\"news-box\"><div class=\"news-box-date\">0").append(i % 9 + 1).append(".09.2019</div>")
+                    .append("<div class=\"news-box-news\"><a href=\"/news/").append(i).append("\">PASHA Bank &amp; partners: headline ")
+                    .append(i).append("</a><p>Summary of news item ").append(i).append(" &laquo;Miles&raquo; &ndash; Baku</p></div></div>\n");
+        }
+        html.append("<footer>PASHA Bank</footer></body></html>");
+        return html.toString();
+    }
+}
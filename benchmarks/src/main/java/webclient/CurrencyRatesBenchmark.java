@@ -0,0 +1,117 @@
+package webclient;
+
+import com.gargoylesoftware.htmlunit.MockWebConnection;
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import com.gargoylesoftware.htmlunit.html.HtmlTable;
+import database.CurrencyRates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyRatesBenchmark {
+
+    private static final String RATES_URL = "https://www.pashabank.az/exchange_valyuta_azn_currency_rate/lang,az/";
+    private static final String RATES_TABLE_CLASS = "currency_top currency_prices";
+    private static final String[][] RATES = {
+            {"USD", "1.6985", "1.7035"},
+            {"EUR", "1.8430", "1.8795"},
+            {"RUB", "0.0250", "0.0275"},
+            {"GBP", "2.0650", "2.1350"},
+            {"TRY", "0.2780", "0.3010"}
+    };
+
+    private String page;
+
+    @Setup
+    public void setUp() throws Exception {
+        page = page();
+        @SuppressWarnings("unchecked")
+        AtomicReference<CurrencyRatesSnapshot> snapshot = (AtomicReference<CurrencyRatesSnapshot>) field("SNAPSHOT");
+        snapshot.set(CurrencyRatesContent.parse(HtmlExtractor.tableRows(new StringReader(page), RATES_TABLE_CLASS, 1)));
+    }
+
+    @Benchmark
+    public String getCurrencyRates(Language language) {
+        return CurrencyRates.getCurrencyRates(language.lang);
+    }
+
+    @Benchmark
+    public CurrencyRatesSnapshot parsePage() throws IOException {
+        return CurrencyRatesContent.parse(HtmlExtractor.tableRows(new StringReader(page), RATES_TABLE_CLASS, 1));
+    }
+
+    @Benchmark
+    public String[] parsePageHtmlUnit() throws IOException {
+        try (WebClient webClient = new WebClient()) {
+            webClient.getOptions().setJavaScriptEnabled(false);
+            webClient.getOptions().setCssEnabled(false);
+            MockWebConnection connection = new MockWebConnection();
+            connection.setResponse(new URL(RATES_URL), page);
+            webClient.setWebConnection(connection);
+
+            HtmlPage htmlPage = webClient.getPage(RATES_URL);
+            List<HtmlTable> tables = htmlPage.getByXPath("//table[@class='" + RATES_TABLE_CLASS + "']");
+            HtmlTable table = tables.get(1);
+            String[] rates = new String[RATES.length * 2];
+            for (int row = 1; row <= RATES.length; row++) {
+                rates[(row - 1) * 2] = table.getCellAt(row, 1).asText();
+                rates[(row - 1) * 2 + 1] = table.getCellAt(row, 2).asText();
+            }
+            return rates;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Language {
+
+        @Param({"az", "en", "ru"})
+        public String lang;
+    }
+
+    private static Object field(String name) throws ReflectiveOperationException {
+        Field field = CurrencyRatesService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(null);
+    }
+
+    private static String page() {
+        StringBuilder html = new StringBuilder("<html><head><title>Valyuta məzənnələri</title></head><body>\n");
+        for (int i = 0; i < 40; i++) {
+            html.append("<div class=\"menu_item\"><a href=\"/page/").append(i).append("\">Bölmə ").append(i).append("</a></div>\n");
+        }
+        for (int table = 0; table < 2; table++) {
+            html.append("<table class=\"").append(RATES_TABLE_CLASS).append("\">\n")
+                    .append("<tr><th>Valyuta</th><th>Alış</th><th>Satış</th></tr>\n");
+            for (String[] rate : RATES) {
+                html.append("<tr><td><span class=\"flag\"></span>&nbsp;").append(rate[0]).append("</td><td>")
+                        .append(rate[1]).append("</td><td>").append(rate[2]).append("</td></tr>\n");
+            }
+            html.append("</table>\n");
+        }
+        html.append("<footer>PASHA Bank</footer></body></html>");
+        return html.toString();
+    }
+}
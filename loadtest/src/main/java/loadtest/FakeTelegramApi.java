@@ -0,0 +1,163 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+public class FakeTelegramApi {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String OK_TRUE = "{\"ok\":true,\"result\":true}";
+    private static final int DEFAULT_LIMIT = 100;
+
+    public interface ReplyListener {
+
+        void replied(long chatId, String method);
+    }
+
+    private final HttpServer server;
+    private final ExecutorService workers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fake-telegram-api");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReplyListener listener;
+    private final NavigableMap<Integer, String> pending = new TreeMap<>();
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final AtomicInteger messageIds = new AtomicInteger();
+    private int nextUpdateId = 1;
+
+    public FakeTelegramApi(InetSocketAddress address, ReplyListener listener) throws IOException {
+        this.listener = listener;
+        this.server = HttpServer.create(address, 1024);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(workers);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/bot";
+    }
+
+    public void enqueue(IntFunction<String> update) {
+        synchronized (pending) {
+            int updateId = nextUpdateId++;
+            pending.put(updateId, update.apply(updateId));
+            pending.notifyAll();
+        }
+    }
+
+    public int getPending() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    public long getCalls(String method) {
+        LongAdder counter = calls.get(method);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = path.substring(path.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT);
+            calls.computeIfAbsent(method, key -> new LongAdder()).increment();
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                byte[] bytes = body.readAllBytes();
+                request = bytes.length == 0 ? MAPPER.createObjectNode() : MAPPER.readTree(bytes);
+            }
+            switch (method) {
+                case "getupdates":
+                    respond(exchange, getUpdates(request));
+                    break;
+                case "sendmessage":
+                case "editmessagetext":
+                    long chatId = request.path("chat_id").asLong();
+                    respond(exchange, message(chatId, request.path("message_id").asInt(messageIds.incrementAndGet())));
+                    listener.replied(chatId, method);
+                    break;
+                default:
+                    respond(exchange, OK_TRUE);
+                    break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String getUpdates(JsonNode request) throws InterruptedException {
+        int offset = request.path("offset").asInt(0);
+        int limit = request.path("limit").asInt(DEFAULT_LIMIT);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(request.path("timeout").asInt(0));
+        List<String> updates = new ArrayList<>();
+        synchronized (pending) {
+            pending.headMap(offset, false).clear();
+            long remaining;
+            while (pending.isEmpty() && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(pending, remaining);
+            }
+            for (String update : pending.values()) {
+                if (updates.size() == limit) {
+                    break;
+                }
+                updates.add(update);
+            }
+        }
+        return "{\"ok\":true,\"result\":[" + String.join(",", updates) + "]}";
+    }
+
+    private static String message(long chatId, int messageId) {
+        return "{\"ok\":true,\"result\":{\"message_id\":" + messageId + ",\"date\":"
+                + TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())
+                + ",\"chat\":{\"id\":" + chatId + ",\"type\":\"private\"},\"text\":\"ok\"}}";
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "calls=" + calls + " pending=" + getPending();
+    }
+}
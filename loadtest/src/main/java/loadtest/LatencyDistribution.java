@@ -0,0 +1,39 @@
+package loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    long sampleMillis();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.split(":", 2);
+        String[] values = parts.length > 1 ? parts[1].split(",") : new String[0];
+        switch (parts[0]) {
+            case "fixed":
+                return fixed(Long.parseLong(values[0]));
+            case "uniform":
+                return uniform(Long.parseLong(values[0]), Long.parseLong(values[1]));
+            case "lognormal":
+                return lognormal(Double.parseDouble(values[0]), Double.parseDouble(values[1]));
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution '" + spec
+                        + "', expected fixed:<ms>, uniform:<minMs>,<maxMs> or lognormal:<medianMs>,<p99Ms>");
+        }
+    }
+
+    static LatencyDistribution fixed(long millis) {
+        return () -> millis;
+    }
+
+    static LatencyDistribution uniform(long minMillis, long maxMillis) {
+        return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+    }
+
+    static LatencyDistribution lognormal(double medianMillis, double p99Millis) {
+        double mu = Math.log(medianMillis);
+        double sigma = Math.log(p99Millis / medianMillis) / 2.326;
+        return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+}
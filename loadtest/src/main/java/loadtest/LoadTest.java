@@ -0,0 +1,207 @@
+package loadtest;
+
+import config.BotConfig;
+import metrics.LatencyHistogram;
+import org.telegram.telegrambots.ApiContextInitializer;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
+import org.telegram.telegrambots.meta.ApiContext;
+import org.telegram.telegrambots.meta.TelegramBotsApi;
+import webclient.BankNewsFeed;
+import webclient.CurrencyRatesService;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadTest {
+
+    private final Workload workload;
+    private final long thinkMillis;
+    private final long timeoutNanos;
+    private final Map<Long, Chat> chats = new ConcurrentHashMap<>();
+    private final AtomicInteger messageIds = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-driver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FakeTelegramApi telegram;
+    private volatile boolean running;
+    private volatile Stats stats = new Stats();
+
+    private LoadTest(Workload workload, long thinkMillis, long timeoutMillis) {
+        this.workload = workload;
+        this.thinkMillis = thinkMillis;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        scheduler.scheduleWithFixedDelay(this::expire, 100, 100, TimeUnit.MILLISECONDS);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] chatCounts = Arrays.stream((args.length > 0 ? args[0] : "1,10,100,500").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        long stageSeconds = args.length > 1 ? Long.parseLong(args[1]) : 20;
+        long warmupSeconds = Long.getLong("loadtest.warmupSeconds", 5L);
+        String script = System.getProperty("loadtest.script");
+        Workload workload = script == null ? Workload.defaultScript() : Workload.load(Paths.get(script));
+
+        System.getProperties().putIfAbsent("bot.outbound.globalPerSecond", "1000000");
+        System.getProperties().putIfAbsent("bot.outbound.chatPerSecond", "1000000");
+        System.getProperties().putIfAbsent("bot.outbound.chatBurst", "1000000");
+
+        StubCustomerApi customers = StubCustomerApi.fromSystemProperties();
+        customers.start();
+        System.setProperty("customer.api.host", customers.getCustomersUrl());
+        System.setProperty("rates.url", customers.getRatesUrl());
+        System.setProperty("news.url", customers.getNewsUrl());
+
+        LoadTest loadTest = new LoadTest(workload,
+                Long.getLong("loadtest.thinkMs", 0L),
+                Long.getLong("loadtest.timeoutMs", 10_000L));
+        FakeTelegramApi telegram = new FakeTelegramApi(
+                new InetSocketAddress("127.0.0.1", Integer.getInteger("loadtest.telegram.port", 0)),
+                loadTest::replied);
+        telegram.start();
+        loadTest.telegram = telegram;
+
+        CurrencyRatesService.start();
+        BankNewsFeed.start();
+        ApiContextInitializer.init();
+        DefaultBotOptions options = ApiContext.getInstance(DefaultBotOptions.class);
+        options.setBaseUrl(telegram.getBaseUrl());
+        BotConfig bot = new BotConfig(options);
+        new TelegramBotsApi().registerBot(bot);
+
+        System.out.println("Telegram API at " + telegram.getBaseUrl() + ", customer API at " + customers.getCustomersUrl()
+                + ", workload of " + workload.size() + " steps, stages of " + stageSeconds + "s after "
+                + warmupSeconds + "s warmup");
+        for (int stage = 0; stage < chatCounts.length; stage++) {
+            System.out.println(loadTest.runStage((stage + 1) * 1_000_000L, chatCounts[stage], warmupSeconds, stageSeconds));
+        }
+
+        System.out.println("Telegram: " + telegram);
+        System.out.println("Customer API: " + customers);
+        bot.onClosing();
+        telegram.stop();
+        customers.stop();
+        System.exit(0);
+    }
+
+    private String runStage(long firstChatId, int chatCount, long warmupSeconds, long stageSeconds)
+            throws InterruptedException {
+        chats.clear();
+        stats = new Stats();
+        running = true;
+        for (int i = 0; i < chatCount; i++) {
+            Chat chat = new Chat(firstChatId + i);
+            chats.put(chat.chatId, chat);
+            send(chat);
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        Stats measured = new Stats();
+        stats = measured;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(stageSeconds);
+        stats = new Stats();
+        long elapsed = System.nanoTime() - start;
+
+        running = false;
+        long drainDeadline = System.nanoTime() + timeoutNanos;
+        while (System.nanoTime() < drainDeadline && chats.values().stream().anyMatch(Chat::isWaiting)) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        return measured.report(chatCount, elapsed);
+    }
+
+    private void send(Chat chat) {
+        synchronized (chat) {
+            Workload.Step step = workload.get(chat.step++);
+            int messageId = messageIds.incrementAndGet();
+            chat.sentAt = System.nanoTime();
+            telegram.enqueue(updateId -> step.toUpdate(updateId, chat.chatId, messageId));
+        }
+    }
+
+    private void replied(long chatId, String method) {
+        Chat chat = chats.get(chatId);
+        if (chat == null) {
+            stats.unexpected.increment();
+            return;
+        }
+        synchronized (chat) {
+            if (chat.sentAt == 0) {
+                stats.unexpected.increment();
+                return;
+            }
+            stats.latency.record(System.nanoTime() - chat.sentAt);
+            chat.sentAt = 0;
+        }
+        next(chat);
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+        for (Chat chat : chats.values()) {
+            synchronized (chat) {
+                if (chat.sentAt == 0 || now - chat.sentAt < timeoutNanos) {
+                    continue;
+                }
+                stats.timeouts.increment();
+                chat.sentAt = 0;
+            }
+            next(chat);
+        }
+    }
+
+    private void next(Chat chat) {
+        if (!running) {
+            return;
+        }
+        if (thinkMillis > 0) {
+            scheduler.schedule(() -> send(chat), thinkMillis, TimeUnit.MILLISECONDS);
+        } else {
+            send(chat);
+        }
+    }
+
+    private static final class Chat {
+
+        private final long chatId;
+        private int step;
+        private long sentAt;
+
+        private Chat(long chatId) {
+            this.chatId = chatId;
+        }
+
+        synchronized boolean isWaiting() {
+            return sentAt != 0;
+        }
+    }
+
+    private static final class Stats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder unexpected = new LongAdder();
+
+        String report(int chatCount, long elapsedNanos) {
+            long replies = latency.getCount();
+            return String.format("chats=%d replies=%d throughput=%.1f/s p50Ms=%.2f p99Ms=%.2f maxMs=%.2f timeouts=%d unexpected=%d",
+                    chatCount, replies, replies / (elapsedNanos / 1e9),
+                    latency.getPercentileNanos(50) / 1e6,
+                    latency.getPercentileNanos(99) / 1e6,
+                    latency.getMaxNanos() / 1e6,
+                    timeouts.sum(), unexpected.sum());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class StubCustomerApi {
+
+    private static final String CUSTOMERS_PATH = "/customers/v1/";
+    private static final String PAGES_PATH = "/pages/";
+    private static final Map<String, String> RESPONSES = Map.of(
+            "customerAccounts", "[{\"azn\":2,\"usd\":1,\"eur\":0}]",
+            "customerCreditsAmount", "[{\"totalCreditsAmountInAZN\":15400,\"totalCreditsAmountInUSD\":0}]",
+            "customerNameAndSurname", "{\"customerName\":\"Load\",\"customerSurname\":\"Test\"}",
+            "customerSummary", "{\"customerName\":\"Load\",\"customerSurname\":\"Test\","
+                    + "\"accounts\":[{\"azn\":2,\"usd\":1,\"eur\":0}],"
+                    + "\"credits\":[{\"totalCreditsAmountInAZN\":15400,\"totalCreditsAmountInUSD\":0}]}");
+
+    private final HttpServer server;
+    private final ExecutorService workers = Executors.newFixedThreadPool(4, daemon("stub-customer-api"));
+    private final ScheduledExecutorService delays = Executors.newSingleThreadScheduledExecutor(daemon("stub-customer-delay"));
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final boolean summarySupported;
+    private final Map<String, byte[]> pages = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder pageRequests = new LongAdder();
+
+    public StubCustomerApi(InetSocketAddress address, LatencyDistribution latency, double errorRate,
+                           boolean summarySupported) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.summarySupported = summarySupported;
+        this.server = HttpServer.create(address, 1024);
+        this.server.createContext(CUSTOMERS_PATH, this::customer);
+        this.server.createContext(PAGES_PATH, this::page);
+        this.server.setExecutor(workers);
+    }
+
+    public static StubCustomerApi fromSystemProperties() throws IOException {
+        return new StubCustomerApi(
+                new InetSocketAddress("127.0.0.1", Integer.getInteger("loadtest.customer.port", 0)),
+                LatencyDistribution.parse(System.getProperty("loadtest.customer.latency", "lognormal:30,250")),
+                Double.parseDouble(System.getProperty("loadtest.customer.errorRate", "0")),
+                Boolean.parseBoolean(System.getProperty("loadtest.customer.summary", "true")));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        delays.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    public String getCustomersUrl() {
+        return baseUrl() + "/customers/";
+    }
+
+    public String getRatesUrl() {
+        return baseUrl() + PAGES_PATH + "rates";
+    }
+
+    public String getNewsUrl() {
+        return baseUrl() + PAGES_PATH + "news/%s";
+    }
+
+    private String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    private void customer(HttpExchange exchange) {
+        requests.increment();
+        String[] path = exchange.getRequestURI().getPath().substring(CUSTOMERS_PATH.length()).split("/");
+        String response = RESPONSES.get(path[0]);
+        int status;
+        if (response == null || (!summarySupported && "customerSummary".equals(path[0]))) {
+            status = 404;
+        } else if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            injectedErrors.increment();
+            status = 503;
+        } else {
+            status = 200;
+        }
+        long delay = Math.max(0, latency.sampleMillis());
+        delays.schedule(() -> workers.execute(() -> respond(exchange, status, status == 200 ? response : null)),
+                delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void page(HttpExchange exchange) {
+        pageRequests.increment();
+        String path = exchange.getRequestURI().getPath().substring(PAGES_PATH.length());
+        String resource = path.startsWith("news") ? "news.html" : "rates.html";
+        byte[] page = pages.computeIfAbsent(resource, StubCustomerApi::resource);
+        String etag = "\"" + Integer.toHexString(Arrays.hashCode(page)) + "\"";
+        try {
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(page);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) {
+        try {
+            if (json == null) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] resource(String name) {
+        try (InputStream in = StubCustomerApi.class.getResourceAsStream("/loadtest/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing resource /loadtest/" + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d injectedErrors=%d pageRequests=%d errorRate=%.3f summary=%s",
+                requests.sum(), injectedErrors.sum(), pageRequests.sum(), errorRate, summarySupported);
+    }
+}
@@ -0,0 +1,148 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class Workload {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final List<Step> DEFAULT_SCRIPT = List.of(
+            Step.text("/start"),
+            Step.text("\ud83c\uddec\ud83c\udde7 English"),
+            Step.contact(),
+            Step.text("\uD83D\uDCB8 My Accounts"),
+            Step.callback("AZN_Account"),
+            Step.text("\uD83D\uDCB3 My Credits"),
+            Step.callback("AZN_Credits"),
+            Step.text("\uD83D\uDCB2 Currency rates"),
+            Step.text("\uD83D\uDCF0 Bank news"),
+            Step.text("\uD83C\uDFDB Branches"),
+            Step.callback("Baku_Branches"),
+            Step.callback("Head_Office"));
+
+    private final List<Step> steps;
+
+    private Workload(List<Step> steps) {
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("Workload has no steps");
+        }
+        this.steps = Collections.unmodifiableList(steps);
+    }
+
+    public static Workload defaultScript() {
+        return new Workload(DEFAULT_SCRIPT);
+    }
+
+    public static Workload load(Path script) throws IOException {
+        List<Step> steps = new ArrayList<>();
+        for (String line : Files.readAllLines(script, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(" ", 2);
+            switch (parts[0]) {
+                case "text":
+                    steps.add(Step.text(parts[1]));
+                    break;
+                case "callback":
+                    steps.add(Step.callback(parts[1]));
+                    break;
+                case "contact":
+                    steps.add(Step.contact());
+                    break;
+                default:
+                    throw new IOException("Unknown workload step '" + line + "', expected text, callback or contact");
+            }
+        }
+        return new Workload(steps);
+    }
+
+    public int size() {
+        return steps.size();
+    }
+
+    public Step get(int index) {
+        return steps.get(index % steps.size());
+    }
+
+    public static final class Step {
+
+        private final String kind;
+        private final String value;
+
+        private Step(String kind, String value) {
+            this.kind = kind;
+            this.value = value;
+        }
+
+        static Step text(String text) {
+            return new Step("text", text);
+        }
+
+        static Step callback(String data) {
+            return new Step("callback", data);
+        }
+
+        static Step contact() {
+            return new Step("contact", null);
+        }
+
+        public String toUpdate(int updateId, long chatId, int messageId) {
+            ObjectNode update = MAPPER.createObjectNode().put("update_id", updateId);
+            switch (kind) {
+                case "callback":
+                    ObjectNode callback = update.putObject("callback_query")
+                            .put("id", String.valueOf(updateId))
+                            .put("chat_instance", String.valueOf(chatId))
+                            .put("data", value);
+                    callback.set("from", user(chatId));
+                    callback.set("message", message(chatId, messageId).put("text", "menu"));
+                    break;
+                case "contact":
+                    ObjectNode message = message(chatId, messageId);
+                    message.putObject("contact")
+                            .put("phone_number", "+99450" + String.format("%07d", chatId % 10_000_000))
+                            .put("first_name", "Load")
+                            .put("user_id", chatId);
+                    update.set("message", message);
+                    break;
+                default:
+                    update.set("message", message(chatId, messageId).put("text", value));
+                    break;
+            }
+            return update.toString();
+        }
+
+        private static ObjectNode message(long chatId, int messageId) {
+            ObjectNode message = MAPPER.createObjectNode()
+                    .put("message_id", messageId)
+                    .put("date", TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+            message.putObject("chat").put("id", chatId).put("type", "private");
+            message.set("from", user(chatId));
+            return message;
+        }
+
+        private static ObjectNode user(long chatId) {
+            return MAPPER.createObjectNode()
+                    .put("id", chatId)
+                    .put("is_bot", false)
+                    .put("first_name", "Load");
+        }
+
+        @Override
+        public String toString() {
+            return value == null ? kind : kind + " " + value;
+        }
+    }
+}
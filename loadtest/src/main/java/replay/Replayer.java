@@ -0,0 +1,129 @@
+package replay;
+
+import config.BotConfig;
+import loadtest.StubCustomerApi;
+import metrics.LatencyHistogram;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class Replayer {
+
+    private static final long QUIET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.out.println("Usage: Replayer <updates.log> [original|max|<speedFactor>]");
+            return;
+        }
+        String mode = args.length > 1 ? args[1] : "original";
+        double speed = "max".equals(mode) ? Double.POSITIVE_INFINITY
+                : "original".equals(mode) ? 1.0 : Double.parseDouble(mode);
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Speed must be positive: " + mode);
+        }
+        long limit = Long.getLong("replay.limit", Long.MAX_VALUE);
+
+        System.getProperties().putIfAbsent("bot.outbound.globalPerSecond", "1000000");
+        System.getProperties().putIfAbsent("bot.outbound.chatPerSecond", "1000000");
+        System.getProperties().putIfAbsent("bot.outbound.chatBurst", "1000000");
+        StubCustomerApi customers = null;
+        if (Boolean.parseBoolean(System.getProperty("replay.stubCustomers", "true"))) {
+            customers = StubCustomerApi.fromSystemProperties();
+            customers.start();
+            System.setProperty("customer.api.host", customers.getCustomersUrl());
+            System.setProperty("rates.url", customers.getRatesUrl());
+            System.setProperty("news.url", customers.getNewsUrl());
+        }
+
+        ReplayBot bot = new ReplayBot();
+        LatencyHistogram lag = new LatencyHistogram();
+        long failed = 0;
+        long start;
+        long fed;
+        long bytes = 0;
+        try (UpdateLogReader reader = new UpdateLogReader(Paths.get(args[0]))) {
+            System.out.println("Replaying " + reader.getSize() + " bytes from " + args[0] + " at " + mode + " speed");
+            start = System.nanoTime();
+            while (reader.getRecords() < limit && reader.next()) {
+                bytes += reader.getPayloadLength();
+                if (speed != Double.POSITIVE_INFINITY) {
+                    long target = start + (long) (TimeUnit.MICROSECONDS.toNanos(reader.getOffsetMicros()) / speed);
+                    long wait;
+                    while ((wait = target - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    lag.record(System.nanoTime() - target);
+                }
+                Update update;
+                try {
+                    update = reader.update();
+                } catch (IOException e) {
+                    failed++;
+                    continue;
+                }
+                bot.onUpdateReceived(update);
+            }
+            fed = reader.getRecords();
+        }
+        long feedNanos = System.nanoTime() - start;
+        bot.awaitQuiet();
+        long totalNanos = Math.max(feedNanos, bot.lastSentAt - start);
+
+        System.out.printf("updates=%d failed=%d payloadBytes=%d feedMs=%d feedRate=%.1f/s totalMs=%d throughput=%.1f/s%n",
+                fed, failed, bytes, TimeUnit.NANOSECONDS.toMillis(feedNanos), fed / (feedNanos / 1e9),
+                TimeUnit.NANOSECONDS.toMillis(totalNanos), fed / (totalNanos / 1e9));
+        if (lag.getCount() > 0) {
+            System.out.printf("scheduleLag p50Ms=%.2f p99Ms=%.2f maxMs=%.2f%n",
+                    lag.getPercentileNanos(50) / 1e6, lag.getPercentileNanos(99) / 1e6, lag.getMaxNanos() / 1e6);
+        }
+        System.out.println("Outbound: " + bot.sentByMethod());
+        if (customers != null) {
+            System.out.println("Customer API: " + customers);
+        }
+        bot.onClosing();
+        if (customers != null) {
+            customers.stop();
+        }
+        System.exit(0);
+    }
+
+    private static final class ReplayBot extends BotConfig {
+
+        private final Map<String, LongAdder> sent = new ConcurrentHashMap<>();
+        private volatile long lastSentAt = System.nanoTime();
+
+        private ReplayBot() {
+            super(new DefaultBotOptions());
+        }
+
+        @Override
+        public <T extends Serializable, Method extends BotApiMethod<T>> T execute(Method method) {
+            sent.computeIfAbsent(method.getMethod(), key -> new LongAdder()).increment();
+            lastSentAt = System.nanoTime();
+            return null;
+        }
+
+        Map<String, Long> sentByMethod() {
+            Map<String, Long> counts = new TreeMap<>();
+            sent.forEach((method, counter) -> counts.put(method, counter.sum()));
+            return counts;
+        }
+
+        void awaitQuiet() throws InterruptedException {
+            while (System.nanoTime() - lastSentAt < QUIET_NANOS) {
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package api;
+
+import okhttp3.HttpUrl;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Backend {
+
+    private final HttpUrl base;
+    private final Map<CustomerEndpoint, HttpUrl> templates = new EnumMap<>(CustomerEndpoint.class);
+    private final int failureThreshold;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong latencyNanos = new AtomicLong(-1);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder probeFailures = new LongAdder();
+    private volatile boolean healthy = true;
+
+    public Backend(HttpUrl base, int failureThreshold) {
+        this.base = base;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        for (CustomerEndpoint endpoint : CustomerEndpoint.values()) {
+            templates.put(endpoint, base.newBuilder()
+                    .addPathSegment("v1")
+                    .addPathSegment(endpoint.getPath())
+                    .build());
+        }
+    }
+
+    public HttpUrl url(CustomerEndpoint endpoint, String phone) {
+        return templates.get(endpoint).newBuilder()
+                .addPathSegment(phone)
+                .build();
+    }
+
+    public HttpUrl getBase() {
+        return base;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos.get();
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+        requests.increment();
+    }
+
+    void succeeded(long elapsedNanos) {
+        outstanding.decrementAndGet();
+        observe(elapsedNanos);
+        consecutiveFailures.set(0);
+        healthy = true;
+    }
+
+    void failed(long elapsedNanos) {
+        outstanding.decrementAndGet();
+        observe(Math.max(elapsedNanos, latencyNanos.get()));
+        failures.increment();
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            healthy = false;
+        }
+    }
+
+    void ignored() {
+        outstanding.decrementAndGet();
+    }
+
+    void probed(boolean up) {
+        if (up) {
+            consecutiveFailures.set(0);
+        } else {
+            probeFailures.increment();
+        }
+        healthy = up;
+    }
+
+    boolean isCheaperThan(Backend other) {
+        long latency = latencyNanos.get();
+        long otherLatency = other.latencyNanos.get();
+        if (latency < 0 || otherLatency < 0) {
+            return outstanding.get() <= other.outstanding.get();
+        }
+        return latency * (outstanding.get() + 1) <= otherLatency * (other.outstanding.get() + 1);
+    }
+
+    private void observe(long elapsedNanos) {
+        long previous;
+        long next;
+        do {
+            previous = latencyNanos.get();
+            next = previous < 0 ? elapsedNanos : previous + (elapsedNanos - previous) / 5;
+        } while (!latencyNanos.compareAndSet(previous, next));
+    }
+
+    @Override
+    public String toString() {
+        long latency = latencyNanos.get();
+        return String.format("%s healthy=%s outstanding=%d ewmaMs=%.2f requests=%d failures=%d probeFailures=%d",
+                base, healthy, outstanding.get(), latency < 0 ? 0 : latency / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                requests.sum(), failures.sum(), probeFailures.sum());
+    }
+}
@@ -0,0 +1,118 @@
+package api;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class BackendPool {
+
+    private static final int SERVER_ERROR = 500;
+
+    private final String service;
+    private final Backend[] backends;
+    private final String healthPath;
+
+    public BackendPool(String service, List<Backend> backends, String healthPath) {
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("No backends configured for " + service);
+        }
+        for (Backend backend : backends) {
+            if (backend.getBase().resolve(healthPath) == null) {
+                throw new IllegalArgumentException("Invalid health path '" + healthPath + "' for " + service + " backend " + backend.getBase());
+            }
+        }
+        this.service = service;
+        this.backends = backends.toArray(new Backend[0]);
+        this.healthPath = healthPath;
+    }
+
+    public Backend choose() {
+        if (backends.length == 1) {
+            return backends[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(backends.length);
+        int second = random.nextInt(backends.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        Backend a = healthyFrom(first, null);
+        if (a == null) {
+            a = backends[first];
+            Backend b = backends[second];
+            return a.isCheaperThan(b) ? a : b;
+        }
+        Backend b = healthyFrom(second, a);
+        if (b == null) {
+            return a;
+        }
+        return a.isCheaperThan(b) ? a : b;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public int size() {
+        return backends.length;
+    }
+
+    public Backend get(int index) {
+        return backends[index];
+    }
+
+    void probe(OkHttpClient client) {
+        for (Backend backend : backends) {
+            try {
+                probe(client, backend);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                backend.probed(false);
+            }
+        }
+    }
+
+    private void probe(OkHttpClient client, Backend backend) {
+        Request request = new Request.Builder()
+                .url(backend.getBase().resolve(healthPath))
+                .get()
+                .build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                backend.probed(false);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                backend.probed(response.code() < SERVER_ERROR);
+            }
+        });
+    }
+
+    private Backend healthyFrom(int start, Backend exclude) {
+        for (int i = 0; i < backends.length; i++) {
+            Backend backend = backends[(start + i) % backends.length];
+            if (backend != exclude && backend.isHealthy()) {
+                return backend;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(service);
+        for (Backend backend : backends) {
+            builder.append("\n  ").append(backend);
+        }
+        return builder.toString();
+    }
+}
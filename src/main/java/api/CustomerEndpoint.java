@@ -0,0 +1,43 @@
+package api;
+
+public enum CustomerEndpoint {
+
+    CUSTOMER_ACCOUNTS("customerAccounts", 2_000, 5_000, 8_000, 16),
+    CUSTOMER_CREDITS_AMOUNT("customerCreditsAmount", 2_000, 5_000, 8_000, 16),
+    CUSTOMER_NAME_AND_SURNAME("customerNameAndSurname", 2_000, 3_000, 5_000, 16),
+    CUSTOMER_SUMMARY("customerSummary", 2_000, 5_000, 8_000, 16);
+
+    private final String path;
+    private final long connectTimeoutMillis;
+    private final long readTimeoutMillis;
+    private final long callTimeoutMillis;
+    private final int maxConcurrent;
+
+    CustomerEndpoint(String path, long connectTimeoutMillis, long readTimeoutMillis, long callTimeoutMillis, int maxConcurrent) {
+        this.path = path;
+        this.connectTimeoutMillis = Long.getLong("customer.api." + path + ".connectTimeoutMs", connectTimeoutMillis);
+        this.readTimeoutMillis = Long.getLong("customer.api." + path + ".readTimeoutMs", readTimeoutMillis);
+        this.callTimeoutMillis = Long.getLong("customer.api." + path + ".callTimeoutMs", callTimeoutMillis);
+        this.maxConcurrent = Integer.getInteger("customer.api." + path + ".maxConcurrent", maxConcurrent);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public long getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public long getCallTimeoutMillis() {
+        return callTimeoutMillis;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
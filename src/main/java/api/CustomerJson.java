@@ -0,0 +1,179 @@
+package api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import database.CustomerAccounts;
+import database.CustomerCreditsAmount;
+import database.CustomerInfo;
+import database.CustomerSnapshot;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+
+public final class CustomerJson {
+
+    public static final ResponseParser<CustomerAccounts> FIRST_ACCOUNTS = body -> first(body, CustomerJson::readAccounts);
+    public static final ResponseParser<CustomerCreditsAmount> FIRST_CREDITS_AMOUNT = body -> first(body, CustomerJson::readCredits);
+    public static final ResponseParser<CustomerInfo> CUSTOMER_INFO = body -> body.source().exhausted()
+            ? null : read(body, CustomerJson::readInfo);
+    public static final ResponseParser<CustomerSnapshot> SUMMARY = body -> body.source().exhausted()
+            ? CustomerSnapshot.UNKNOWN : readSummary(new JsonReader(body.charStream()));
+
+    private CustomerJson() {
+    }
+
+    private static <T> T first(ResponseBody body, ValueReader<T> reader) throws IOException {
+        JsonReader in = new JsonReader(body.charStream());
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            return nullSafe(in, reader);
+        }
+        in.beginArray();
+        if (!in.hasNext()) {
+            throw new IOException("Empty customer response");
+        }
+        return nullSafe(in, reader);
+    }
+
+    private static CustomerSnapshot readSummary(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            return CustomerSnapshot.UNKNOWN;
+        }
+        CustomerInfo info = new CustomerInfo();
+        CustomerAccounts accounts = null;
+        CustomerCreditsAmount credits = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "customerName":
+                    info.setCustomerName(nextString(in));
+                    break;
+                case "customerSurname":
+                    info.setCustomerSurname(nextString(in));
+                    break;
+                case "accounts":
+                    accounts = nested(in, CustomerJson::readAccounts);
+                    break;
+                case "credits":
+                    credits = nested(in, CustomerJson::readCredits);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        if (info.getCustomerName() == null && info.getCustomerSurname() == null) {
+            return CustomerSnapshot.UNKNOWN;
+        }
+        return new CustomerSnapshot(info, accounts, credits);
+    }
+
+    private static <T> T nested(JsonReader in, ValueReader<T> reader) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            return nullSafe(in, reader);
+        }
+        in.beginArray();
+        T value = in.hasNext() ? nullSafe(in, reader) : null;
+        while (in.hasNext()) {
+            in.skipValue();
+        }
+        in.endArray();
+        return value;
+    }
+
+    private static <T> T read(ResponseBody body, ValueReader<T> reader) throws IOException {
+        return nullSafe(new JsonReader(body.charStream()), reader);
+    }
+
+    private static <T> T nullSafe(JsonReader in, ValueReader<T> reader) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return reader.read(in);
+    }
+
+    private static int nextInt(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return 0;
+        }
+        return reader.nextInt();
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    private static CustomerAccounts readAccounts(JsonReader in) throws IOException {
+        CustomerAccounts accounts = new CustomerAccounts();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "azn":
+                    accounts.setAzn(nextInt(in));
+                    break;
+                case "usd":
+                    accounts.setUsd(nextInt(in));
+                    break;
+                case "eur":
+                    accounts.setEur(nextInt(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return accounts;
+    }
+
+    private static CustomerCreditsAmount readCredits(JsonReader in) throws IOException {
+        CustomerCreditsAmount credits = new CustomerCreditsAmount();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "totalCreditsAmountInAZN":
+                    credits.setTotalCreditsAmountInAZN(nextInt(in));
+                    break;
+                case "totalCreditsAmountInUSD":
+                    credits.setTotalCreditsAmountInUSD(nextInt(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return credits;
+    }
+
+    private static CustomerInfo readInfo(JsonReader in) throws IOException {
+        CustomerInfo info = new CustomerInfo();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "customerName":
+                    info.setCustomerName(nextString(in));
+                    break;
+                case "customerSurname":
+                    info.setCustomerSurname(nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return info;
+    }
+
+    private interface ValueReader<T> {
+
+        T read(JsonReader in) throws IOException;
+    }
+}
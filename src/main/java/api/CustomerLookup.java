@@ -0,0 +1,73 @@
+package api;
+
+import cache.TtlCache;
+import database.CustomerAccounts;
+import database.CustomerCreditsAmount;
+import database.CustomerInfo;
+import database.CustomerSnapshot;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class CustomerLookup {
+
+    private final CustomerSnapshotClient client;
+    private final TtlCache<String, CustomerInfo> info;
+    private final TtlCache<String, CustomerAccounts> accounts;
+    private final TtlCache<String, CustomerCreditsAmount> credits;
+
+    public CustomerLookup(CustomerSnapshotClient client, long ttl, long negativeTtl, TimeUnit unit, int maxSize) {
+        this.client = client;
+        this.info = new TtlCache<>(ttl, negativeTtl, unit, maxSize);
+        this.accounts = new TtlCache<>(ttl, negativeTtl, unit, maxSize);
+        this.credits = new TtlCache<>(ttl, negativeTtl, unit, maxSize);
+    }
+
+    public static CustomerLookup fromSystemProperties(CustomerSnapshotClient client) {
+        return new CustomerLookup(client,
+                Long.getLong("customer.cache.ttlSeconds", 60L),
+                Long.getLong("customer.cache.negativeTtlSeconds", 10L),
+                TimeUnit.SECONDS,
+                Integer.getInteger("customer.cache.maxSize", 10_000));
+    }
+
+    public CompletableFuture<CustomerInfo> info(String phoneNumber) {
+        return info.get(phoneNumber, this::loadSnapshot);
+    }
+
+    public CompletableFuture<CustomerAccounts> accounts(String phoneNumber) {
+        return accounts.get(phoneNumber, client::fetchAccounts);
+    }
+
+    public CompletableFuture<CustomerCreditsAmount> credits(String phoneNumber) {
+        return credits.get(phoneNumber, client::fetchCredits);
+    }
+
+    public void forget(String phoneNumber) {
+        info.invalidate(phoneNumber);
+        accounts.invalidate(phoneNumber);
+        credits.invalidate(phoneNumber);
+    }
+
+    private CompletableFuture<CustomerInfo> loadSnapshot(String phoneNumber) {
+        CompletableFuture<CustomerSnapshot> snapshot = client.fetch(phoneNumber);
+        return new LinkedFuture<CustomerInfo>().after(snapshot).follow(snapshot.thenApply(value -> prime(phoneNumber, value)));
+    }
+
+    private CustomerInfo prime(String phoneNumber, CustomerSnapshot snapshot) {
+        if (snapshot.getInfo() != null) {
+            if (snapshot.getAccounts() != null) {
+                accounts.put(phoneNumber, snapshot.getAccounts());
+            }
+            if (snapshot.getCredits() != null) {
+                credits.put(phoneNumber, snapshot.getCredits());
+            }
+        }
+        return snapshot.getInfo();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("info=[%s] accounts=[%s] credits=[%s]", info, accounts, credits);
+    }
+}
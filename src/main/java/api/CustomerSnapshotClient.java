@@ -0,0 +1,113 @@
+package api;
+
+import database.CustomerAccounts;
+import database.CustomerCreditsAmount;
+import database.CustomerInfo;
+import database.CustomerSnapshot;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CustomerSnapshotClient {
+
+    private static final int NOT_FOUND = 404;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int NOT_IMPLEMENTED = 501;
+
+    private final OkHttpAsyncGet http;
+    private final long summaryRecheckNanos;
+    private final LongAdder combinedCalls = new LongAdder();
+    private final LongAdder fanOuts = new LongAdder();
+    private volatile boolean summaryUnsupported;
+    private volatile long summaryUnsupportedAt;
+
+    public CustomerSnapshotClient(OkHttpAsyncGet http, long summaryRecheck, TimeUnit unit) {
+        this.http = http;
+        this.summaryRecheckNanos = unit.toNanos(summaryRecheck);
+    }
+
+    public static CustomerSnapshotClient fromSystemProperties(OkHttpAsyncGet http) {
+        return new CustomerSnapshotClient(http, Long.getLong("customer.api.summary.recheckMinutes", 10L), TimeUnit.MINUTES);
+    }
+
+    public CompletableFuture<CustomerSnapshot> fetch(String phoneNumber) {
+        if (summaryUnsupported && System.nanoTime() - summaryUnsupportedAt < summaryRecheckNanos) {
+            return fanOut(phoneNumber);
+        }
+        combinedCalls.increment();
+        CompletableFuture<CustomerSnapshot> summary = http.run(CustomerEndpoint.CUSTOMER_SUMMARY, phoneNumber, CustomerJson.SUMMARY);
+        LinkedFuture<CustomerSnapshot> snapshot = new LinkedFuture<CustomerSnapshot>().after(summary);
+        summary.whenComplete((value, failure) -> {
+            if (failure == null) {
+                summaryUnsupported = false;
+                snapshot.complete(value);
+            } else if (isUnsupported(failure)) {
+                summaryUnsupportedAt = System.nanoTime();
+                summaryUnsupported = true;
+                snapshot.follow(fanOut(phoneNumber));
+            } else if (statusOf(failure) == NOT_FOUND) {
+                snapshot.follow(fanOut(phoneNumber));
+            } else {
+                snapshot.completeExceptionally(failure);
+            }
+        });
+        return snapshot;
+    }
+
+    public CompletableFuture<CustomerInfo> fetchInfo(String phoneNumber) {
+        return http.run(CustomerEndpoint.CUSTOMER_NAME_AND_SURNAME, phoneNumber, CustomerJson.CUSTOMER_INFO);
+    }
+
+    public CompletableFuture<CustomerAccounts> fetchAccounts(String phoneNumber) {
+        return http.run(CustomerEndpoint.CUSTOMER_ACCOUNTS, phoneNumber, CustomerJson.FIRST_ACCOUNTS);
+    }
+
+    public CompletableFuture<CustomerCreditsAmount> fetchCredits(String phoneNumber) {
+        return http.run(CustomerEndpoint.CUSTOMER_CREDITS_AMOUNT, phoneNumber, CustomerJson.FIRST_CREDITS_AMOUNT);
+    }
+
+    public long getCombinedCalls() {
+        return combinedCalls.sum();
+    }
+
+    public long getFanOuts() {
+        return fanOuts.sum();
+    }
+
+    private CompletableFuture<CustomerSnapshot> fanOut(String phoneNumber) {
+        fanOuts.increment();
+        CompletableFuture<CustomerInfo> info = fetchInfo(phoneNumber);
+        CompletableFuture<CustomerAccounts> accounts = fetchAccounts(phoneNumber);
+        CompletableFuture<CustomerCreditsAmount> credits = fetchCredits(phoneNumber);
+        info.whenComplete((customer, failure) -> {
+            if (failure != null || customer == null) {
+                accounts.cancel(true);
+                credits.cancel(true);
+            }
+        });
+        CompletableFuture<CustomerAccounts> anyAccounts = accounts.exceptionally(failure -> null);
+        CompletableFuture<CustomerCreditsAmount> anyCredits = credits.exceptionally(failure -> null);
+        return new LinkedFuture<CustomerSnapshot>().after(info).after(accounts).after(credits)
+                .follow(info.thenCompose(customer -> customer == null
+                        ? CompletableFuture.completedFuture(CustomerSnapshot.UNKNOWN)
+                        : anyAccounts.thenCombine(anyCredits, (customerAccounts, customerCredits) ->
+                                new CustomerSnapshot(customer, customerAccounts, customerCredits))));
+    }
+
+    private static boolean isUnsupported(Throwable failure) {
+        int code = statusOf(failure);
+        return code == METHOD_NOT_ALLOWED || code == NOT_IMPLEMENTED;
+    }
+
+    private static int statusOf(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof HttpStatusException ? ((HttpStatusException) cause).getCode() : -1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("combinedCalls=%d fanOuts=%d summaryUnsupported=%s", getCombinedCalls(), getFanOuts(), summaryUnsupported);
+    }
+}
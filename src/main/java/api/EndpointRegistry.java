@@ -0,0 +1,111 @@
+package api;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class EndpointRegistry {
+
+    public static final String CUSTOMERS = "customers";
+
+    private static final String RESOURCE = "/endpoints.properties";
+    private static final String URLS = ".urls";
+    private static final String PREFIX = "endpoints.";
+
+    private final Map<String, BackendPool> pools = new TreeMap<>();
+    private final ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "endpoint-prober");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EndpointRegistry(Properties config, OkHttpClient client) {
+        for (String key : config.stringPropertyNames()) {
+            if (!key.endsWith(URLS)) {
+                continue;
+            }
+            String service = key.substring(0, key.length() - URLS.length());
+            int failureThreshold = Integer.parseInt(config.getProperty(service + ".failureThreshold", "3"));
+            List<Backend> backends = new ArrayList<>();
+            for (String url : config.getProperty(key).split(",")) {
+                if (!url.isBlank()) {
+                    backends.add(new Backend(HttpUrl.get(url.trim()), failureThreshold));
+                }
+            }
+            BackendPool pool = new BackendPool(service, backends, config.getProperty(service + ".healthPath", ""));
+            pools.put(service, pool);
+
+            long probeSeconds = Long.parseLong(config.getProperty(service + ".probeSeconds", "10"));
+            if (probeSeconds > 0 && pool.size() > 1) {
+                OkHttpClient probeClient = client.newBuilder()
+                        .callTimeout(Long.parseLong(config.getProperty(service + ".probeTimeoutMs", "1000")), TimeUnit.MILLISECONDS)
+                        .build();
+                prober.scheduleWithFixedDelay(() -> pool.probe(probeClient), 0, probeSeconds, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    public static EndpointRegistry fromSystemProperties() {
+        Properties config = new Properties();
+        try (InputStream in = EndpointRegistry.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                config.load(in);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        String file = System.getProperty("endpoints.file");
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                config.load(reader);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(PREFIX) && !key.equals("endpoints.file")) {
+                config.setProperty(key.substring(PREFIX.length()), System.getProperty(key));
+            }
+        }
+        String customers = System.getProperty("customer.api.urls", System.getProperty("customer.api.host"));
+        if (customers != null) {
+            config.setProperty(CUSTOMERS + URLS, customers);
+        }
+        return new EndpointRegistry(config, HttpClients.shared());
+    }
+
+    public BackendPool pool(String service) {
+        BackendPool pool = pools.get(service);
+        if (pool == null) {
+            throw new IllegalArgumentException("No endpoints configured for " + service);
+        }
+        return pool;
+    }
+
+    public void shutdown() {
+        prober.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (BackendPool pool : pools.values()) {
+            builder.append(pool).append('\n');
+        }
+        return builder.toString().trim();
+    }
+}
@@ -0,0 +1,34 @@
+package api;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+import java.util.concurrent.TimeUnit;
+
+public final class HttpClients {
+
+    private static final OkHttpClient SHARED = create();
+
+    private HttpClients() {
+    }
+
+    public static OkHttpClient shared() {
+        return SHARED;
+    }
+
+    private static OkHttpClient create() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Integer.getInteger("http.maxRequests", 64));
+        dispatcher.setMaxRequestsPerHost(Integer.getInteger("http.maxRequestsPerHost", 16));
+
+        ConnectionPool connectionPool = new ConnectionPool(
+                Integer.getInteger("http.maxIdleConnections", 16),
+                Long.getLong("http.keepAliveSeconds", 300L), TimeUnit.SECONDS);
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(connectionPool)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package api;
+
+import java.io.IOException;
+
+public class HttpStatusException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CustomerEndpoint endpoint;
+    private final int code;
+
+    public HttpStatusException(CustomerEndpoint endpoint, int code) {
+        super(endpoint.getPath() + " returned HTTP " + code);
+        this.endpoint = endpoint;
+        this.code = code;
+    }
+
+    public CustomerEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public int getCode() {
+        return code;
+    }
+}
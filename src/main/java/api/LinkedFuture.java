@@ -0,0 +1,39 @@
+package api;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class LinkedFuture<T> extends CompletableFuture<T> {
+
+    private final List<CompletableFuture<?>> upstream = new CopyOnWriteArrayList<>();
+
+    LinkedFuture<T> after(CompletableFuture<?> future) {
+        upstream.add(future);
+        if (isCancelled()) {
+            future.cancel(true);
+        }
+        return this;
+    }
+
+    LinkedFuture<T> follow(CompletableFuture<? extends T> future) {
+        after(future);
+        future.whenComplete((value, failure) -> {
+            if (failure != null) {
+                completeExceptionally(failure);
+            } else {
+                complete(value);
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        for (CompletableFuture<?> future : upstream) {
+            future.cancel(mayInterruptIfRunning);
+        }
+        return cancelled;
+    }
+}
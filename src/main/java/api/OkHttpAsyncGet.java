@@ -0,0 +1,239 @@
+package api;
+
+import metrics.Metrics;
+import metrics.Stage;
+import metrics.Timer;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class OkHttpAsyncGet {
+
+    private static final int SERVER_ERROR = 500;
+
+    private final Map<CustomerEndpoint, OkHttpClient> clients = new EnumMap<>(CustomerEndpoint.class);
+    private final Map<CustomerEndpoint, Map<Backend, CircuitBreaker>> breakers = new EnumMap<>(CustomerEndpoint.class);
+    private final Map<CustomerEndpoint, Bulkhead> bulkheads = new EnumMap<>(CustomerEndpoint.class);
+    private final Set<Call> inFlight = ConcurrentHashMap.newKeySet();
+    private final BackendPool backends;
+    private final EndpointRegistry registry;
+
+    public OkHttpAsyncGet() {
+        this(HttpClients.shared(), EndpointRegistry.fromSystemProperties());
+    }
+
+    public OkHttpAsyncGet(OkHttpClient client, EndpointRegistry registry) {
+        this(client, registry.pool(EndpointRegistry.CUSTOMERS), registry);
+    }
+
+    public OkHttpAsyncGet(OkHttpClient client, BackendPool backends) {
+        this(client, backends, null);
+    }
+
+    private OkHttpAsyncGet(OkHttpClient client, BackendPool backends, EndpointRegistry registry) {
+        this.backends = backends;
+        this.registry = registry;
+        for (CustomerEndpoint endpoint : CustomerEndpoint.values()) {
+            clients.put(endpoint, client.newBuilder()
+                    .connectTimeout(endpoint.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                    .readTimeout(endpoint.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                    .callTimeout(endpoint.getCallTimeoutMillis(), TimeUnit.MILLISECONDS)
+                    .build());
+            Map<Backend, CircuitBreaker> perBackend = new IdentityHashMap<>();
+            for (int i = 0; i < backends.size(); i++) {
+                Backend backend = backends.get(i);
+                perBackend.put(backend, new CircuitBreaker(endpoint.getPath() + "@" + backend.getBase(),
+                        Integer.getInteger("customer.api.breaker.window", 20),
+                        Integer.getInteger("customer.api.breaker.minimumCalls", 10),
+                        Double.parseDouble(System.getProperty("customer.api.breaker.failureRate", "0.5")),
+                        Long.getLong("customer.api.breaker.openSeconds", 30L), TimeUnit.SECONDS));
+            }
+            breakers.put(endpoint, perBackend);
+            bulkheads.put(endpoint, new Bulkhead(endpoint.getPath(), endpoint.getMaxConcurrent()));
+        }
+    }
+
+    public CompletableFuture<String> run(CustomerEndpoint endpoint, String phone) {
+        return run(endpoint, phone, ResponseBody::string);
+    }
+
+    public <T> CompletableFuture<T> run(CustomerEndpoint endpoint, String phone, ResponseParser<T> parser) {
+        Timer timer = Metrics.timer(Stage.CUSTOMER_API, endpoint.getPath());
+        Bulkhead bulkhead = bulkheads.get(endpoint);
+        if (!bulkhead.tryAcquire()) {
+            timer.error();
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(endpoint, "too many calls in flight"));
+        }
+        Backend backend = admit(endpoint, backends.choose());
+        if (backend == null) {
+            bulkhead.release();
+            timer.error();
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(endpoint, "circuit open"));
+        }
+        CircuitBreaker breaker = getCircuitBreaker(endpoint, backend);
+        long start = System.nanoTime();
+        backend.acquire();
+        Permit permit = new Permit(breaker, bulkhead, backend, start);
+
+        Request request = new Request.Builder()
+                .url(backend.url(endpoint, phone))
+                .get()
+                .build();
+        Call call = clients.get(endpoint).newCall(request);
+        CompletableFuture<T> future = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                call.cancel();
+                permit.ignored();
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+
+        inFlight.add(call);
+        future.whenComplete((value, failure) -> {
+            inFlight.remove(call);
+            timer.recordSince(start);
+            if (failure != null) {
+                timer.error();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (call.isCanceled()) {
+                    permit.ignored();
+                } else {
+                    permit.failed();
+                }
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (response.code() >= SERVER_ERROR) {
+                        permit.failed();
+                    } else {
+                        permit.succeeded();
+                    }
+                    if (!response.isSuccessful()) {
+                        future.completeExceptionally(new HttpStatusException(endpoint, response.code()));
+                    } else {
+                        future.complete(parser.parse(body));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    permit.failed();
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    private Backend admit(CustomerEndpoint endpoint, Backend chosen) {
+        Map<Backend, CircuitBreaker> perBackend = breakers.get(endpoint);
+        if (perBackend.get(chosen).tryAcquire()) {
+            return chosen;
+        }
+        for (int i = 0; i < backends.size(); i++) {
+            Backend backend = backends.get(i);
+            if (backend != chosen && backend.isHealthy() && perBackend.get(backend).tryAcquire()) {
+                return backend;
+            }
+        }
+        return null;
+    }
+
+    public CircuitBreaker getCircuitBreaker(CustomerEndpoint endpoint, Backend backend) {
+        return breakers.get(endpoint).get(backend);
+    }
+
+    public Bulkhead getBulkhead(CustomerEndpoint endpoint) {
+        return bulkheads.get(endpoint);
+    }
+
+    public BackendPool getBackends() {
+        return backends;
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public void shutdown() {
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    public void cancelAll() {
+        for (Call call : inFlight) {
+            call.cancel();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (CustomerEndpoint endpoint : CustomerEndpoint.values()) {
+            builder.append(bulkheads.get(endpoint)).append('\n');
+            for (int i = 0; i < backends.size(); i++) {
+                builder.append("  ").append(breakers.get(endpoint).get(backends.get(i))).append('\n');
+            }
+        }
+        return builder.append(backends).toString();
+    }
+
+    private static final class Permit {
+
+        private final CircuitBreaker breaker;
+        private final Bulkhead bulkhead;
+        private final Backend backend;
+        private final long start;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Permit(CircuitBreaker breaker, Bulkhead bulkhead, Backend backend, long start) {
+            this.breaker = breaker;
+            this.bulkhead = bulkhead;
+            this.backend = backend;
+            this.start = start;
+        }
+
+        private void succeeded() {
+            if (done.compareAndSet(false, true)) {
+                bulkhead.release();
+                breaker.onSuccess();
+                backend.succeeded(System.nanoTime() - start);
+            }
+        }
+
+        private void failed() {
+            if (done.compareAndSet(false, true)) {
+                bulkhead.release();
+                breaker.onFailure();
+                backend.failed(System.nanoTime() - start);
+            }
+        }
+
+        private void ignored() {
+            if (done.compareAndSet(false, true)) {
+                bulkhead.release();
+                breaker.onIgnored();
+                backend.ignored();
+            }
+        }
+    }
+}
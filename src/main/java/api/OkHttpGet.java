@@ -9,7 +9,7 @@ import java.util.Objects;
 
 public class OkHttpGet {
 
-    private OkHttpClient client = new OkHttpClient();
+    private final OkHttpClient client = HttpClients.shared();
 
     public String run(String url) throws IOException {
         Request request = new Request.Builder()
@@ -0,0 +1,11 @@
+package api;
+
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ResponseParser<T> {
+
+    T parse(ResponseBody body) throws IOException;
+}
@@ -0,0 +1,28 @@
+package api;
+
+import java.io.IOException;
+
+public class ServiceUnavailableException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CustomerEndpoint endpoint;
+
+    public ServiceUnavailableException(CustomerEndpoint endpoint, String reason) {
+        super(endpoint.getPath() + " unavailable: " + reason);
+        this.endpoint = endpoint;
+    }
+
+    public CustomerEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public static boolean isCause(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ServiceUnavailableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
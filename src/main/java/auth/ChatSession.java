@@ -0,0 +1,58 @@
+package auth;
+
+import java.util.Objects;
+
+public final class ChatSession {
+
+    public static final ChatSession EMPTY = new ChatSession(null, null);
+
+    private final String lang;
+    private final String phoneNumber;
+
+    public ChatSession(String lang, String phoneNumber) {
+        this.lang = lang;
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getLang() {
+        return lang;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public boolean isEmpty() {
+        return lang == null && phoneNumber == null;
+    }
+
+    public ChatSession withLang(String lang) {
+        return new ChatSession(lang, phoneNumber);
+    }
+
+    public ChatSession withPhoneNumber(String phoneNumber) {
+        return new ChatSession(lang, phoneNumber);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ChatSession)) {
+            return false;
+        }
+        ChatSession that = (ChatSession) o;
+        return Objects.equals(lang, that.lang) && Objects.equals(phoneNumber, that.phoneNumber);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lang, phoneNumber);
+    }
+
+    @Override
+    public String toString() {
+        return "ChatSession{lang=" + lang + ", phoneNumber=" + (phoneNumber == null ? null : "***") + "}";
+    }
+}
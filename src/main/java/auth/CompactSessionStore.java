@@ -0,0 +1,290 @@
+package auth;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+public class CompactSessionStore implements SessionStore {
+
+    private static final String[] LANGUAGES = {"az", "en", "ru"};
+    private static final byte FREE = 0;
+    private static final byte NO_LANG = 1;
+    private static final byte CUSTOM_LANG = 0x7F;
+    private static final long NO_PHONE = 0;
+    private static final long OVERFLOW_PHONE = -1;
+    private static final int MAX_PACKED_DIGITS = 15;
+    private static final int MIN_CAPACITY = 16;
+    private static final int SWEEP_BATCH = 4096;
+
+    private final long startedAt = System.nanoTime();
+    private final int idleSeconds;
+    private final ScheduledExecutorService sweeper;
+    private final Map<Long, String> overflowLangs = new HashMap<>();
+    private final Map<Long, String> overflowPhones = new HashMap<>();
+
+    private long[] keys;
+    private byte[] langs;
+    private long[] phones;
+    private int[] lastAccess;
+    private int size;
+    private int sweepCursor;
+
+    public CompactSessionStore(int expectedSessions, long idleTimeout, TimeUnit unit) {
+        if (idleTimeout <= 0) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        this.idleSeconds = (int) Math.min(Integer.MAX_VALUE, Math.max(1, unit.toSeconds(idleTimeout)));
+        allocate(capacityFor(expectedSessions));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-table-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(this::sweep, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public synchronized ChatSession get(long chatId) {
+        int slot = find(chatId);
+        if (slot < 0) {
+            return ChatSession.EMPTY;
+        }
+        int now = now();
+        if (isExpired(slot, now)) {
+            removeAt(slot);
+            return ChatSession.EMPTY;
+        }
+        lastAccess[slot] = now;
+        return sessionAt(slot);
+    }
+
+    @Override
+    public synchronized ChatSession update(long chatId, UnaryOperator<ChatSession> change) {
+        int now = now();
+        int slot = find(chatId);
+        if (slot >= 0 && isExpired(slot, now)) {
+            removeAt(slot);
+            slot = -1;
+        }
+        ChatSession next = change.apply(slot < 0 ? ChatSession.EMPTY : sessionAt(slot));
+        if (next.isEmpty()) {
+            if (slot >= 0) {
+                removeAt(slot);
+            }
+            return ChatSession.EMPTY;
+        }
+        if (slot < 0) {
+            if ((size + 1) * 4L > keys.length * 3L) {
+                allocate(keys.length * 2);
+            }
+            slot = insertionSlot(chatId);
+            keys[slot] = chatId;
+            size++;
+        }
+        langs[slot] = encodeLang(chatId, next.getLang());
+        phones[slot] = packPhone(chatId, next.getPhoneNumber());
+        lastAccess[slot] = now;
+        return next;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    synchronized int sweep(int batch) {
+        int now = now();
+        int removed = 0;
+        int mask = keys.length - 1;
+        for (int scanned = 0; scanned < batch && size > 0; scanned++) {
+            int slot = sweepCursor;
+            if (langs[slot] != FREE && isExpired(slot, now)) {
+                removeAt(slot);
+                removed++;
+            } else {
+                sweepCursor = (slot + 1) & mask;
+            }
+        }
+        return removed;
+    }
+
+    private void sweep() {
+        int batch;
+        synchronized (this) {
+            batch = Math.max(SWEEP_BATCH, keys.length / 64);
+        }
+        sweep(batch);
+    }
+
+    private int now() {
+        return (int) TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt);
+    }
+
+    private boolean isExpired(int slot, int now) {
+        return now - lastAccess[slot] > idleSeconds;
+    }
+
+    private static int hash(long chatId) {
+        long h = chatId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private int find(long chatId) {
+        int mask = keys.length - 1;
+        for (int slot = hash(chatId) & mask; langs[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == chatId) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int insertionSlot(long chatId) {
+        int mask = keys.length - 1;
+        int slot = hash(chatId) & mask;
+        while (langs[slot] != FREE) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void removeAt(int slot) {
+        if (langs[slot] == CUSTOM_LANG) {
+            overflowLangs.remove(keys[slot]);
+        }
+        if (phones[slot] == OVERFLOW_PHONE) {
+            overflowPhones.remove(keys[slot]);
+        }
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (langs[next] != FREE) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                langs[hole] = langs[next];
+                phones[hole] = phones[next];
+                lastAccess[hole] = lastAccess[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = 0;
+        langs[hole] = FREE;
+        phones[hole] = NO_PHONE;
+        lastAccess[hole] = 0;
+        size--;
+    }
+
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        byte[] oldLangs = langs;
+        long[] oldPhones = phones;
+        int[] oldLastAccess = lastAccess;
+
+        keys = new long[capacity];
+        langs = new byte[capacity];
+        phones = new long[capacity];
+        lastAccess = new int[capacity];
+        sweepCursor = 0;
+        if (oldKeys == null) {
+            return;
+        }
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldLangs[i] != FREE) {
+                int slot = insertionSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                langs[slot] = oldLangs[i];
+                phones[slot] = oldPhones[i];
+                lastAccess[slot] = oldLastAccess[i];
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSessions) {
+        long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSessions / 0.75));
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many sessions: " + expectedSessions);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private ChatSession sessionAt(int slot) {
+        byte lang = langs[slot];
+        long phone = phones[slot];
+        String phoneNumber = phone == OVERFLOW_PHONE ? overflowPhones.get(keys[slot]) : unpackPhone(phone);
+        return new ChatSession(decodeLang(keys[slot], lang), phoneNumber);
+    }
+
+    private String decodeLang(long chatId, byte lang) {
+        if (lang == NO_LANG) {
+            return null;
+        }
+        return lang == CUSTOM_LANG ? overflowLangs.get(chatId) : LANGUAGES[lang - 2];
+    }
+
+    private byte encodeLang(long chatId, String lang) {
+        overflowLangs.remove(chatId);
+        if (lang == null) {
+            return NO_LANG;
+        }
+        for (int i = 0; i < LANGUAGES.length; i++) {
+            if (LANGUAGES[i].equals(lang)) {
+                return (byte) (i + 2);
+            }
+        }
+        overflowLangs.put(chatId, lang);
+        return CUSTOM_LANG;
+    }
+
+    private long packPhone(long chatId, String phoneNumber) {
+        overflowPhones.remove(chatId);
+        if (phoneNumber == null) {
+            return NO_PHONE;
+        }
+        int length = phoneNumber.length();
+        if (length == 0 || length > MAX_PACKED_DIGITS) {
+            overflowPhones.put(chatId, phoneNumber);
+            return OVERFLOW_PHONE;
+        }
+        long packed = length;
+        for (int i = 0; i < length; i++) {
+            int digit = phoneNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                overflowPhones.put(chatId, phoneNumber);
+                return OVERFLOW_PHONE;
+            }
+            packed |= (long) digit << (4 + 4 * i);
+        }
+        return packed;
+    }
+
+    private static String unpackPhone(long packed) {
+        if (packed == NO_PHONE) {
+            return null;
+        }
+        int length = (int) (packed & 0x0F);
+        char[] digits = new char[length];
+        for (int i = 0; i < length; i++) {
+            digits[i] = (char) ('0' + (packed >>> (4 + 4 * i) & 0x0F));
+        }
+        return new String(digits);
+    }
+}
@@ -0,0 +1,267 @@
+package auth;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+public class FileSessionStore implements SessionStore {
+
+    private static final String SUFFIX = ".session";
+    private static final int STRIPES = 64;
+    private static final long TOUCH_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long RACY_MILLIS = TimeUnit.SECONDS.toMillis(2);
+    private static final byte STAMPED = (byte) 0xF5;
+    private static final int HEADER = 1 + Long.BYTES;
+
+    private final Path directory;
+    private final long idleMillis;
+    private final ConcurrentHashMap<Long, Cached> cache = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+    private final ScheduledExecutorService sweeper;
+
+    public FileSessionStore(Path directory, long idleTimeout, TimeUnit unit) {
+        if (idleTimeout <= 0) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.directory = directory;
+        this.idleMillis = unit.toMillis(idleTimeout);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-file-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, unit.toSeconds(idleTimeout) / 4);
+        this.sweeper.scheduleWithFixedDelay(this::sweep, period, period, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public ChatSession get(long chatId) {
+        Path file = fileOf(chatId);
+        long now = System.currentTimeMillis();
+        BasicFileAttributes attributes = attributes(file);
+        if (attributes == null) {
+            cache.remove(chatId);
+            return ChatSession.EMPTY;
+        }
+        long modified = attributes.lastModifiedTime().toMillis();
+        if (now - modified > idleMillis) {
+            delete(file);
+            cache.remove(chatId);
+            return ChatSession.EMPTY;
+        }
+
+        Cached cached = cache.get(chatId);
+        if (cached == null || cached.modified != modified || cached.size != attributes.size()
+                || now - modified < RACY_MILLIS) {
+            cached = reload(chatId, file, cached, modified);
+            if (cached == null) {
+                return ChatSession.EMPTY;
+            }
+        }
+        if (now - modified > TOUCH_INTERVAL_MILLIS) {
+            touch(file, now);
+            cache.put(chatId, new Cached(cached.session, lastModified(file), cached.size, cached.stamp));
+        }
+        return cached.session;
+    }
+
+    private Cached reload(long chatId, Path file, Cached cached, long modified) {
+        byte[] bytes = read(file);
+        if (bytes == null) {
+            cache.remove(chatId);
+            return null;
+        }
+        long stamp = stampOf(bytes);
+        ChatSession session = cached != null && stamp != 0 && stamp == cached.stamp ? cached.session : decode(file, bytes);
+        if (session == null) {
+            cache.remove(chatId);
+            return null;
+        }
+        Cached reloaded = new Cached(session, modified, bytes.length, stamp);
+        cache.put(chatId, reloaded);
+        return reloaded;
+    }
+
+    @Override
+    public ChatSession update(long chatId, UnaryOperator<ChatSession> change) {
+        synchronized (locks[(int) (Math.abs(chatId % STRIPES))]) {
+            ChatSession next = change.apply(get(chatId));
+            Path file = fileOf(chatId);
+            if (next.isEmpty()) {
+                delete(file);
+                cache.remove(chatId);
+                return ChatSession.EMPTY;
+            }
+            long stamp = nextStamp();
+            byte[] bytes = stamped(stamp, SessionCodec.encode(next));
+            write(file, bytes);
+            cache.put(chatId, new Cached(next, lastModified(file), bytes.length, stamp));
+            return next;
+        }
+    }
+
+    @Override
+    public int size() {
+        int files = 0;
+        try (DirectoryStream<Path> sessions = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path ignored : sessions) {
+                files++;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return files;
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private Path fileOf(long chatId) {
+        return directory.resolve(chatId + SUFFIX);
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BasicFileAttributes attributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ChatSession decode(Path file, byte[] bytes) {
+        try {
+            boolean stamped = bytes.length > HEADER && bytes[0] == STAMPED;
+            return SessionCodec.decode(stamped ? Arrays.copyOfRange(bytes, HEADER, bytes.length) : bytes);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            e.printStackTrace();
+            delete(file);
+            return null;
+        }
+    }
+
+    private static long stampOf(byte[] bytes) {
+        if (bytes.length <= HEADER || bytes[0] != STAMPED) {
+            return 0;
+        }
+        return ByteBuffer.wrap(bytes, 1, Long.BYTES).getLong();
+    }
+
+    private static byte[] stamped(long stamp, byte[] encoded) {
+        return ByteBuffer.allocate(HEADER + encoded.length)
+                .put(STAMPED)
+                .putLong(stamp)
+                .put(encoded)
+                .array();
+    }
+
+    private static long nextStamp() {
+        long stamp;
+        do {
+            stamp = ThreadLocalRandom.current().nextLong();
+        } while (stamp == 0);
+        return stamp;
+    }
+
+    private void write(Path file, byte[] bytes) {
+        try {
+            Path temporary = Files.createTempFile(directory, "session", ".tmp");
+            Files.write(temporary, bytes);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void touch(Path file, long now) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+        } catch (NoSuchFileException ignored) {
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                long modified = lastModified(file);
+                if (modified != 0 && now - modified > idleMillis) {
+                    delete(file);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+        cache.entrySet().removeIf(entry -> now - entry.getValue().modified > idleMillis);
+    }
+
+    private static final class Cached {
+
+        private final ChatSession session;
+        private final long modified;
+        private final long size;
+        private final long stamp;
+
+        private Cached(ChatSession session, long modified, long size, long stamp) {
+            this.session = session;
+            this.modified = modified;
+            this.size = size;
+            this.stamp = stamp;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package auth;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+public class InMemorySessionStore implements SessionStore {
+
+    private final ConcurrentHashMap<Long, Entry> sessions = new ConcurrentHashMap<>();
+    private final long idleNanos;
+    private final ScheduledExecutorService sweeper;
+
+    public InMemorySessionStore(long idleTimeout, TimeUnit unit) {
+        if (idleTimeout <= 0) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        this.idleNanos = unit.toNanos(idleTimeout);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, unit.toSeconds(idleTimeout) / 4);
+        this.sweeper.scheduleWithFixedDelay(this::sweep, period, period, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public ChatSession get(long chatId) {
+        Entry entry = sessions.get(chatId);
+        if (entry == null) {
+            return ChatSession.EMPTY;
+        }
+        long now = System.nanoTime();
+        if (entry.isExpired(now, idleNanos)) {
+            sessions.remove(chatId, entry);
+            return ChatSession.EMPTY;
+        }
+        entry.lastAccess = now;
+        return entry.session;
+    }
+
+    @Override
+    public ChatSession update(long chatId, UnaryOperator<ChatSession> change) {
+        long now = System.nanoTime();
+        Entry updated = sessions.compute(chatId, (key, entry) -> {
+            ChatSession current = entry == null || entry.isExpired(now, idleNanos) ? ChatSession.EMPTY : entry.session;
+            ChatSession next = change.apply(current);
+            return next.isEmpty() ? null : new Entry(next, now);
+        });
+        return updated == null ? ChatSession.EMPTY : updated.session;
+    }
+
+    @Override
+    public int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        sessions.entrySet().removeIf(entry -> entry.getValue().isExpired(now, idleNanos));
+    }
+
+    private static final class Entry {
+
+        private final ChatSession session;
+        private volatile long lastAccess;
+
+        private Entry(ChatSession session, long lastAccess) {
+            this.session = session;
+            this.lastAccess = lastAccess;
+        }
+
+        private boolean isExpired(long now, long idleNanos) {
+            return now - lastAccess > idleNanos;
+        }
+    }
+}
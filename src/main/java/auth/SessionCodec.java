@@ -0,0 +1,110 @@
+package auth;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public final class SessionCodec {
+
+    private static final byte VERSION = 1;
+    private static final String[] LANGUAGES = {"az", "en", "ru"};
+    private static final byte NONE = 0;
+    private static final byte CUSTOM = 0x7F;
+    private static final byte PHONE_DIGITS = 1;
+    private static final byte PHONE_TEXT = 2;
+
+    private SessionCodec() {
+    }
+
+    public static byte[] encode(ChatSession session) {
+        byte[] buffer = new byte[72];
+        int position = 0;
+        buffer[position++] = VERSION;
+
+        String lang = session.getLang();
+        int langCode = lang == null ? NONE : Arrays.asList(LANGUAGES).indexOf(lang) + 1;
+        if (lang != null && langCode == 0) {
+            buffer[position++] = CUSTOM;
+            position = putText(buffer, position, lang);
+        } else {
+            buffer[position++] = (byte) langCode;
+        }
+
+        String phoneNumber = session.getPhoneNumber();
+        if (phoneNumber == null) {
+            buffer[position++] = NONE;
+        } else if (isDigits(phoneNumber)) {
+            buffer[position++] = PHONE_DIGITS;
+            buffer[position++] = (byte) phoneNumber.length();
+            for (int i = 0; i < phoneNumber.length(); i += 2) {
+                int high = phoneNumber.charAt(i) - '0';
+                int low = i + 1 < phoneNumber.length() ? phoneNumber.charAt(i + 1) - '0' : 0;
+                buffer[position++] = (byte) (high << 4 | low);
+            }
+        } else {
+            buffer[position++] = PHONE_TEXT;
+            position = putText(buffer, position, phoneNumber);
+        }
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public static ChatSession decode(byte[] bytes) {
+        if (bytes.length < 3 || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported session encoding");
+        }
+        int position = 1;
+        String lang;
+        int langCode = bytes[position++];
+        if (langCode == CUSTOM) {
+            int length = bytes[position++] & 0xFF;
+            lang = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+        } else if (langCode >= 0 && langCode <= LANGUAGES.length) {
+            lang = langCode == NONE ? null : LANGUAGES[langCode - 1];
+        } else {
+            throw new IllegalArgumentException("Unknown language code " + langCode);
+        }
+
+        String phoneNumber;
+        byte phoneType = bytes[position++];
+        if (phoneType == NONE) {
+            phoneNumber = null;
+        } else if (phoneType == PHONE_DIGITS) {
+            int digits = bytes[position++] & 0xFF;
+            char[] chars = new char[digits];
+            for (int i = 0; i < digits; i++) {
+                int packed = bytes[position + i / 2];
+                chars[i] = (char) ('0' + ((i & 1) == 0 ? packed >> 4 & 0x0F : packed & 0x0F));
+            }
+            phoneNumber = new String(chars);
+        } else if (phoneType == PHONE_TEXT) {
+            int length = bytes[position++] & 0xFF;
+            phoneNumber = new String(bytes, position, length, StandardCharsets.UTF_8);
+        } else {
+            throw new IllegalArgumentException("Unknown phone encoding " + phoneType);
+        }
+        return new ChatSession(lang, phoneNumber);
+    }
+
+    private static int putText(byte[] buffer, int position, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 32) {
+            throw new IllegalArgumentException("Session value too long: " + text.length());
+        }
+        buffer[position++] = (byte) bytes.length;
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.isEmpty() || value.length() > 32) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
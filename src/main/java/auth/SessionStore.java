@@ -0,0 +1,15 @@
+package auth;
+
+import java.util.function.UnaryOperator;
+
+public interface SessionStore extends AutoCloseable {
+
+    ChatSession get(long chatId);
+
+    ChatSession update(long chatId, UnaryOperator<ChatSession> change);
+
+    int size();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,27 @@
+package auth;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+public final class SessionStores {
+
+    private SessionStores() {
+    }
+
+    public static SessionStore fromSystemProperties() {
+        long idleMinutes = Long.getLong("bot.sessions.idleMinutes", 30L);
+        String store = System.getProperty("bot.sessions.store", "compact");
+        switch (store) {
+            case "compact":
+                return new CompactSessionStore(Integer.getInteger("bot.sessions.expected", 1024),
+                        idleMinutes, TimeUnit.MINUTES);
+            case "memory":
+                return new InMemorySessionStore(idleMinutes, TimeUnit.MINUTES);
+            case "file":
+                return new FileSessionStore(Paths.get(System.getProperty("bot.sessions.dir", "sessions")),
+                        idleMinutes, TimeUnit.MINUTES);
+            default:
+                throw new IllegalArgumentException("Unknown session store: " + store);
+        }
+    }
+}
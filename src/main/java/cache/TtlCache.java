@@ -0,0 +1,181 @@
+package cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class TtlCache<K, V> {
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final int maxSize;
+    private final Map<K, CacheEntry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(long ttl, TimeUnit unit, int maxSize) {
+        this(ttl, ttl, unit, maxSize);
+    }
+
+    public TtlCache(long ttl, long negativeTtl, TimeUnit unit, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.ttlNanos = unit.toNanos(ttl);
+        this.negativeTtlNanos = Math.min(unit.toNanos(negativeTtl), ttlNanos);
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > TtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public CompletableFuture<V> get(K key, Function<K, CompletableFuture<V>> loader) {
+        long now = System.nanoTime();
+        CacheEntry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && isFresh(entry, now)) {
+                hits.increment();
+                return entry.value.isDone() ? entry.value : waiter(key, entry);
+            }
+            misses.increment();
+            entry = new CacheEntry<>(new CompletableFuture<>(), now);
+            entries.put(key, entry);
+        }
+
+        CompletableFuture<V> waiter = waiter(key, entry);
+        CompletableFuture<V> load = loader.apply(key);
+        CacheEntry<V> loading = entry;
+        boolean abandoned;
+        synchronized (entries) {
+            loading.load = load;
+            abandoned = loading.abandoned;
+        }
+        if (abandoned) {
+            load.cancel(true);
+        }
+        load.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                synchronized (entries) {
+                    if (entries.get(key) == loading) {
+                        entries.remove(key);
+                    }
+                }
+                loading.value.completeExceptionally(throwable);
+            } else {
+                loading.value.complete(value);
+            }
+        });
+        return waiter;
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new CacheEntry<>(CompletableFuture.completedFuture(value), System.nanoTime()));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private CompletableFuture<V> waiter(K key, CacheEntry<V> entry) {
+        synchronized (entries) {
+            entry.waiters++;
+        }
+        CompletableFuture<V> waiter = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (cancelled) {
+                    abandon(key, entry);
+                }
+                return cancelled;
+            }
+        };
+        entry.value.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                waiter.completeExceptionally(throwable);
+            } else {
+                waiter.complete(value);
+            }
+        });
+        return waiter;
+    }
+
+    private void abandon(K key, CacheEntry<V> entry) {
+        CompletableFuture<V> load;
+        synchronized (entries) {
+            if (--entry.waiters > 0 || entry.value.isDone()) {
+                return;
+            }
+            if (entries.get(key) == entry) {
+                entries.remove(key);
+            }
+            entry.abandoned = true;
+            load = entry.load;
+        }
+        if (load != null) {
+            load.cancel(true);
+        }
+    }
+
+    private boolean isFresh(CacheEntry<V> entry, long now) {
+        CompletableFuture<V> value = entry.value;
+        if (value.isCompletedExceptionally()) {
+            return false;
+        }
+        long ttl = value.isDone() && value.join() == null ? negativeTtlNanos : ttlNanos;
+        return now - entry.loadedAt < ttl;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d hits=%d misses=%d evictions=%d", size(), getHits(), getMisses(), getEvictions());
+    }
+
+    private static final class CacheEntry<V> {
+
+        private final CompletableFuture<V> value;
+        private final long loadedAt;
+        private CompletableFuture<V> load;
+        private int waiters;
+        private boolean abandoned;
+
+        private CacheEntry(CompletableFuture<V> value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -2,90 +2,190 @@ package config;
 
 import langs.LanguageElement;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
-import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.KeyboardButton;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.KeyboardRow;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 class BotButtonsConfig {
 
-    static void setButtons(SendMessage sendMessage, boolean langSelected, String lang, String phoneNum, BotConfig.ButtonsType ButtonsType) {
-
-        ReplyKeyboardMarkup replyKeyboardMarkup = new ReplyKeyboardMarkup()
-                .setSelective(true)
-                .setResizeKeyboard(true)
-                .setOneTimeKeyboard(false);
-
-        sendMessage.setReplyMarkup(replyKeyboardMarkup);
-
-        KeyboardRow keyboardFirstRow = new KeyboardRow();
-        KeyboardRow keyboardSecondRow = new KeyboardRow();
-        KeyboardRow keyboardThirdRow = new KeyboardRow();
-
-        List<KeyboardRow> keyboardRowList = new ArrayList<>();
-
-        if (!langSelected) {
-            keyboardFirstRow.add(new KeyboardButton("\ud83c\udde6\ud83c\uddff Azərbaycan dili"));
-            keyboardSecondRow.add(new KeyboardButton("\ud83c\uddec\ud83c\udde7 English"));
-            keyboardThirdRow.add(new KeyboardButton("\ud83c\uddf7\ud83c\uddfa Русский"));
-            keyboardRowList.add(keyboardFirstRow);
-            keyboardRowList.add(keyboardSecondRow);
-            keyboardRowList.add(keyboardThirdRow);
-            replyKeyboardMarkup.setKeyboard(keyboardRowList);
-            return;
-        }
-        LanguageElement languageElement = new LanguageElement(lang);
-        BotInlineButtonsConfig botInlineButtonsConfig = new BotInlineButtonsConfig();
-        EditMessageText editMessageText = new EditMessageText();
-
-        if (phoneNum == null) {
-
-            KeyboardButton shareContactButton = new KeyboardButton().setText("\uD83D\uDCF1 " + languageElement.sharePhoneNumberText.trim())
-                    .setRequestContact(true);
-            keyboardFirstRow.add(shareContactButton);
-
-            keyboardSecondRow.add(new KeyboardButton("\uD83C\uDFDB " + languageElement.bankBranches.trim()));
-//            keyboardSecondRow.add(new KeyboardButton("\uD83D\uDCF0 " + languageElement.bankNews.trim()));
-            keyboardSecondRow.add(new KeyboardButton("\uD83D\uDCDE " + languageElement.contactTheBank.trim()));
-            keyboardThirdRow.add(new KeyboardButton("\uD83D\uDCB2 " + languageElement.currencyRatesText.trim()));
-            keyboardThirdRow.add(new KeyboardButton("\u2699 " + languageElement.generalSettings.trim()));
-            keyboardRowList.add(keyboardSecondRow);
-            keyboardRowList.add(keyboardThirdRow);
-
-            if (ButtonsType == BotConfig.ButtonsType.SETTINGS) {
-                keyboardFirstRow.removeAll(keyboardFirstRow);
-                keyboardSecondRow.removeAll(keyboardSecondRow);
-                keyboardThirdRow.removeAll(keyboardThirdRow);
-                keyboardFirstRow.add(new KeyboardButton("\uD83D\uDD19 " + languageElement.backFunction.trim()));
-                keyboardSecondRow.add(new KeyboardButton("\uD83C\uDF0D " + languageElement.languageText.trim()));
-            }
-
-             if(ButtonsType == BotConfig.ButtonsType.BRANCHES){
-                botInlineButtonsConfig.inlineKeyboardForBankBranches(sendMessage,languageElement);
-            }
-        }
-
-        else {
-            keyboardSecondRow.add(new KeyboardButton("\uD83D\uDCB8 " + languageElement.accountsViewNameText.trim()));
-            keyboardSecondRow.add(new KeyboardButton("\uD83D\uDCB3 " + languageElement.creditsViewNameText.trim()));
-            keyboardFirstRow.add(new KeyboardButton("\uD83D\uDD19 " + languageElement.backFunction.trim()));
-            keyboardRowList.add(keyboardSecondRow);
-
-            switch (ButtonsType) {
-                case ACCOUNTS:
-                    botInlineButtonsConfig.inlineKeyboardForCustomerAccounts(sendMessage);
-                    break;
-                case CREDITS:
-                    botInlineButtonsConfig.inlineKeyboardForCustomerCredits(sendMessage);
-                    break;
-                default:
-                    break;
-            }
-        }
-        keyboardRowList.add(keyboardFirstRow);
-        replyKeyboardMarkup.setKeyboard(keyboardRowList);
+    static void setButtons(SendMessage sendMessage, boolean langSelected, RequestContext context, BotConfig.ButtonsType ButtonsType) {
+        sendMessage.setReplyMarkup(KeyboardRegistry.keyboard(langSelected, context, ButtonsType));
+    }
+
+    static ReplyKeyboardMarkup languageKeyboard() {
+        return keyboard(
+                row(new KeyboardButton("\ud83c\udde6\ud83c\uddff Azərbaycan dili")),
+                row(new KeyboardButton("\ud83c\uddec\ud83c\udde7 English")),
+                row(new KeyboardButton("\ud83c\uddf7\ud83c\uddfa Русский")));
+    }
+
+    static ReplyKeyboardMarkup guestKeyboard(LanguageElement languageElement) {
+        KeyboardButton shareContactButton = new KeyboardButton().setText("\ud83d\udcf1 " + languageElement.sharePhoneNumberText.trim())
+                .setRequestContact(true);
+        return keyboard(
+                row(new KeyboardButton("\ud83c\udfdb " + languageElement.bankBranches.trim()),
+//                        new KeyboardButton("\ud83d\udcf0 " + languageElement.bankNews.trim()),
+                        new KeyboardButton("\ud83d\udcde " + languageElement.contactTheBank.trim())),
+                row(new KeyboardButton("\ud83d\udcb2 " + languageElement.currencyRatesText.trim()),
+                        new KeyboardButton("\u2699 " + languageElement.generalSettings.trim())),
+                row(shareContactButton));
+    }
+
+    static ReplyKeyboardMarkup settingsKeyboard(LanguageElement languageElement) {
+        return keyboard(
+                row(new KeyboardButton("\ud83c\udf0d " + languageElement.languageText.trim())),
+                row(new KeyboardButton("\ud83d\udd19 " + languageElement.backFunction.trim())));
+    }
+
+    static ReplyKeyboardMarkup customerKeyboard(LanguageElement languageElement) {
+        return keyboard(
+                row(new KeyboardButton("\ud83d\udcb8 " + languageElement.accountsViewNameText.trim()),
+                        new KeyboardButton("\ud83d\udcb3 " + languageElement.creditsViewNameText.trim())),
+                row(new KeyboardButton("\ud83d\udd19 " + languageElement.backFunction.trim())));
+    }
+
+    private static KeyboardRow row(KeyboardButton... buttons) {
+        return new FrozenRow(List.of(buttons));
+    }
+
+    private static ReplyKeyboardMarkup keyboard(KeyboardRow... rows) {
+        return new FrozenKeyboard(List.of(rows));
+    }
+
+    private static UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException("Shared keyboards are read-only");
+    }
+
+    private static final class FrozenKeyboard extends ReplyKeyboardMarkup {
+
+        private FrozenKeyboard(List<KeyboardRow> rows) {
+            super.setSelective(true);
+            super.setResizeKeyboard(true);
+            super.setOneTimeKeyboard(false);
+            super.setKeyboard(rows);
+        }
+
+        @Override
+        public ReplyKeyboardMarkup setKeyboard(List<KeyboardRow> keyboard) {
+            throw frozen();
+        }
+
+        @Override
+        public ReplyKeyboardMarkup setResizeKeyboard(Boolean resizeKeyboard) {
+            throw frozen();
+        }
+
+        @Override
+        public ReplyKeyboardMarkup setOneTimeKeyboard(Boolean oneTimeKeyboard) {
+            throw frozen();
+        }
+
+        @Override
+        public ReplyKeyboardMarkup setSelective(Boolean selective) {
+            throw frozen();
+        }
+    }
+
+    private static final class FrozenRow extends KeyboardRow {
+
+        private FrozenRow(List<KeyboardButton> buttons) {
+            super.addAll(buttons);
+        }
+
+        @Override
+        public boolean add(String text) {
+            throw frozen();
+        }
+
+        @Override
+        public void add(int index, String text) {
+            throw frozen();
+        }
+
+        @Override
+        public void addAll(List<String> buttonNames) {
+            throw frozen();
+        }
+
+        @Override
+        public KeyboardButton set(int index, String text) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean remove(String text) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean add(KeyboardButton button) {
+            throw frozen();
+        }
+
+        @Override
+        public void add(int index, KeyboardButton button) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends KeyboardButton> buttons) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends KeyboardButton> buttons) {
+            throw frozen();
+        }
+
+        @Override
+        public KeyboardButton set(int index, KeyboardButton button) {
+            throw frozen();
+        }
+
+        @Override
+        public KeyboardButton remove(int index) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean remove(Object button) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> buttons) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> buttons) {
+            throw frozen();
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super KeyboardButton> filter) {
+            throw frozen();
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<KeyboardButton> operator) {
+            throw frozen();
+        }
+
+        @Override
+        public void sort(Comparator<? super KeyboardButton> comparator) {
+            throw frozen();
+        }
+
+        @Override
+        public void clear() {
+            throw frozen();
+        }
     }
 }
@@ -1,45 +1,57 @@
 package config;
 
-import api.ApiRequest;
-import api.OkHttpGet;
-import auth.SessionPhoneNumber;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import api.ServiceUnavailableException;
+import auth.ChatSession;
+import auth.SessionStore;
+import auth.SessionStores;
 import database.CurrencyRates;
 import database.CustomerAccounts;
 import database.CustomerCreditsAmount;
-import database.CustomerInfo;
+import dispatcher.UpdateDispatcher;
 import langs.LanguageElement;
-import langs.LanguageKey;
-import langs.LanguageValue;
-import org.apache.shiro.session.Session;
-import org.telegram.telegrambots.meta.api.methods.ActionType;
-import org.telegram.telegrambots.meta.api.methods.send.SendChatAction;
+import metrics.Metrics;
+import metrics.MetricsReporter;
+import metrics.Stage;
+import metrics.Timer;
+import outbound.OutboundScheduler;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
+import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
-import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
 import org.telegram.telegrambots.meta.api.objects.Message;
 import org.telegram.telegrambots.meta.api.objects.Update;
-import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
-import org.telegram.telegrambots.session.TelegramLongPollingSessionBot;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import replay.UpdateRecorder;
 import starter.Main;
 import webclient.BankNews;
 
-import java.io.IOException;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 import static config.SwitchCaseStrings.*;
 
 
-public class BotConfig extends TelegramLongPollingSessionBot {
+public class BotConfig extends TelegramLongPollingBot {
 
-    private final OkHttpGet okHttpGet = new OkHttpGet();
-    private final GsonBuilder gsonBuilder = new GsonBuilder();
-    private final Gson gson = gsonBuilder.create();
-    private final LanguageKey languageKey = new LanguageKey("lang");
-    private LanguageValue langType;
-    private final LanguageKey phoneStoreLanguageKey = new LanguageKey("phoneKey");
+    private final SessionStore sessions = SessionStores.fromSystemProperties();
+    private final UpdateDispatcher dispatcher = UpdateDispatcher.fromSystemProperties();
+    private final OutboundScheduler outbound = OutboundScheduler.fromSystemProperties(this::execute);
+    private final ReplyComposer composer = ReplyComposer.fromSystemProperties(outbound);
+    private final UpdateRouter router = buildRouter();
+    private final Timer receiveTimer = Metrics.timer(Stage.RECEIVE, "dispatch");
+    private final Timer droppedTimer = Metrics.timer(Stage.RECEIVE, "dropped");
+    private final UpdateRecorder recorder = UpdateRecorder.fromSystemProperties();
+
+    public BotConfig() {
+        registerGauges();
+    }
+
+    public BotConfig(DefaultBotOptions options) {
+        super(options);
+        registerGauges();
+    }
 
     public enum ButtonsType {
         NULL,
@@ -49,469 +61,260 @@ public class BotConfig extends TelegramLongPollingSessionBot {
         BRANCHES
     }
 
-    private void sendMsg(Message message, String text, boolean langSelected, String lang, String phoneNum, ButtonsType buttonsType) {
+    private void sendMsg(RequestContext context, String text, boolean langSelected, ButtonsType buttonsType) {
         SendMessage sendMessage = new SendMessage();
         sendMessage.enableMarkdown(true);
-        sendMessage.setChatId(message.getChatId().toString());
+        sendMessage.setChatId(context.getChatId());
         sendMessage.setText(text);
+        setButtons(sendMessage, langSelected, context, buttonsType);
+        composer.send(context, sendMessage);
+    }
 
-        try {
-            setButtons(sendMessage, langSelected, lang, phoneNum, buttonsType);
-            execute(sendMessage);
-        } catch (TelegramApiException e) {
-            e.printStackTrace();
+    @Override
+    public void onUpdateReceived(Update update) {
+        UpdateScope scope = UpdateScope.fromSystemProperties(System.nanoTime());
+        if (recorder != null) {
+            recorder.record(update);
+        }
+        if (!dispatcher.dispatch(chatIdOf(update), () -> handleUpdate(update, scope))) {
+            droppedTimer.error();
+        }
+    }
+
+    private static long chatIdOf(Update update) {
+        if (update.getMessage() != null) {
+            return update.getMessage().getChatId();
+        }
+        if (update.hasCallbackQuery() && update.getCallbackQuery().getMessage() != null) {
+            return update.getCallbackQuery().getMessage().getChatId();
         }
+        return 0L;
     }
 
-    public void onUpdateReceived(Update update, Optional<Session> session) {
+    private RequestContext resolveContext(Update update, UpdateScope scope) {
+        long start = System.nanoTime();
+        long chatId = chatIdOf(update);
+        ChatSession session = sessions.get(chatId);
+        Metrics.timer(Stage.SESSION, "resolve", session.getLang()).recordSince(start);
+        return new RequestContext(chatId, session.getLang(), session.getPhoneNumber(), scope);
+    }
+
+    private void handleUpdate(Update update, UpdateScope scope) {
+        receiveTimer.recordSince(scope.getReceivedAt());
+        if (scope.isExpired()) {
+            droppedTimer.recordSince(scope.getReceivedAt());
+            return;
+        }
+        RequestContext context = resolveContext(update, scope);
         Message message = update.getMessage();
-        LanguageElement langElements;
         if (message != null && message.hasText()) {
-            switch (message.getText()) {
-
-                case languageAz:
-                    session.ifPresent(value -> value.setAttribute(languageKey, new LanguageValue("az")));
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.authenticationText, true, "az", null, ButtonsType.NULL);
-                    break;
-
-                case languageEn:
-                    session.ifPresent(value -> value.setAttribute(languageKey, new LanguageValue("en")));
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.authenticationText, true, "en", null, ButtonsType.NULL);
-                    break;
-
-                case languageRu:
-                    session.ifPresent(value -> value.setAttribute(languageKey, new LanguageValue("ru")));
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.authenticationText, true, "ru", null, ButtonsType.NULL);
-                    break;
-
-                case "/start":
-                    var sessionPhoneNumber = new AtomicReference<>(new SessionPhoneNumber());
-                    try {
-                        session.ifPresent(value -> sessionPhoneNumber.set((SessionPhoneNumber) value.getAttribute(phoneStoreLanguageKey)));
-                        session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                        if (sessionPhoneNumber.get().getPhoneNumber() != null) {
-                            sessionPhoneNumber.get().setPhoneNumber(null);
-                        }
-                    } catch (NullPointerException ignored) {
-                    }
-
-                    langElements = new LanguageElement("az");
-                    sendChatAction(update);
-                    sendMsg(message, langElements.startText, false, null, null, ButtonsType.NULL);
-                    break;
-
-                case myAccountsAz:
-                case myAccountsEn:
-                case myAccountsRu:
-
-                    sessionPhoneNumber = new AtomicReference<>(new SessionPhoneNumber());
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    session.ifPresent(value -> sessionPhoneNumber.set((SessionPhoneNumber) value.getAttribute(phoneStoreLanguageKey)));
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.accountsTypesText.trim(), true, langType.getLangType(), sessionPhoneNumber.get().getPhoneNumber(), ButtonsType.ACCOUNTS);
-                    break;
-
-                case myCreditsAz:
-                case myCreditsEn:
-                case myCreditsRu:
-
-                    sessionPhoneNumber = new AtomicReference<>(new SessionPhoneNumber());
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    session.ifPresent(value -> sessionPhoneNumber.set((SessionPhoneNumber) value.getAttribute(phoneStoreLanguageKey)));
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.creditsTypesText.trim(), true, langType.getLangType(), sessionPhoneNumber.get().getPhoneNumber(), ButtonsType.CREDITS);
-                    break;
-
-
-                case branchesAz:
-                case branchesEn:
-                case branchesRu:
-
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.bankBranchesChooseTypeText, true, langType.getLangType(), null, ButtonsType.BRANCHES);
-                    break;
-
-                case bankNewsAz:
-                case bankNewsEn:
-                case bankNewsRu
-                        :
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    sendChatAction(update);
-                    try {
-                        sendMsg(message, BankNews.getBankNews(langType.getLangType()), true, langType.getLangType(), null, ButtonsType.NULL);
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                    break;
-
-                case currencyRatesAz:
-                case currencyRatesEn:
-                case currencyRatesRu:
-
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    sendChatAction(update);
-                    sendMsg(message, CurrencyRates.getCurrencyRates(langType.getLangType()), true, langType.getLangType(), null, ButtonsType.NULL);
-                    break;
-
-                case settingsAz:
-                case settingsEn:
-                case settingsRu:
-
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.selectAction, true, langType.getLangType(), null, ButtonsType.SETTINGS);
-                    break;
-
-                case changeLanguageAz:
-                case changeLanguageEn:
-                case changeLanguageRu:
-
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.chooseTheLanguage, false, langType.getLangType(), null, ButtonsType.NULL);
-                    break;
-
-                case contactTheBankAz:
-                case contactTheBankEn:
-                case contactTheBankRu:
-
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.bankPhoneNumbers.trim(), true, langType.getLangType(), null, ButtonsType.NULL);
-                    break;
-
-                case backFunctionAz:
-                case backFunctionEn:
-                case backFunctionRu:
-
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    sendChatAction(update);
-                    sendMsg(message, langElements.backFunction.trim(), true, langType.getLangType(), null, ButtonsType.NULL);
-                    break;
-
-                default:
-                    sessionPhoneNumber = new AtomicReference<>(new SessionPhoneNumber());
-                    try {
-                        session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                        session.ifPresent(value -> sessionPhoneNumber.set((SessionPhoneNumber) value.getAttribute(phoneStoreLanguageKey)));
-                        sendChatAction(update);
-
-                        if (langType == null) {
-                            langElements = new LanguageElement("az");
-                            sendMsg(message, langElements.selectAction, false, "az", null, ButtonsType.NULL);
-                        } else if (langType.getLangType() != null) {
-                            langElements = new LanguageElement(langType.getLangType());
-                            sendMsg(message, langElements.selectAction, true, langType.getLangType(), null, ButtonsType.NULL);
-
-                        } else if (sessionPhoneNumber.get().getPhoneNumber() == null) {
-                            langElements = new LanguageElement(langType.getLangType());
-                            sendMsg(message, langElements.selectAction, false, langType.getLangType(), null, ButtonsType.NULL);
-
-                        } else {
-                            langElements = new LanguageElement(langType.getLangType());
-                            sendMsg(message, langElements.selectAction, true, langType.getLangType(), sessionPhoneNumber.get().getPhoneNumber(), ButtonsType.NULL);
-                        }
-                    } catch (NullPointerException ignored) {
-                    }
-                    break;
-            }
+            router.routeText(message.getText(), update, context);
         } else if (update.hasCallbackQuery()) {
-            String call_data = update.getCallbackQuery().getData();
-            long message_id = update.getCallbackQuery().getMessage().getMessageId();
-            long chat_id = update.getCallbackQuery().getMessage().getChatId();
-            EditMessageText callbackMessage;
-            AtomicReference<SessionPhoneNumber> sessionPhoneNumber;
-            BotInlineButtonsConfig botInlineButtonsConfig = new BotInlineButtonsConfig();
-
-            switch (call_data) {
-                case "AZN_Account":
-                    try {
-                        sessionPhoneNumber = new AtomicReference<>(new SessionPhoneNumber());
-                        session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                        session.ifPresent(value -> sessionPhoneNumber.set((SessionPhoneNumber) value.getAttribute(phoneStoreLanguageKey)));
-
-                        CustomerAccounts answer = CallBackResponse.customerAccountsDB(sessionPhoneNumber.get());
-                        callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, answer.getAZNAccountsFromDB(langType.getLangType()));
-                        execute(callbackMessage);
-                    } catch (IOException | TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
-
-                case "USD_Account":
-                    try {
-                        sessionPhoneNumber = new AtomicReference<>(new SessionPhoneNumber());
-                        session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                        session.ifPresent(value -> sessionPhoneNumber.set((SessionPhoneNumber) value.getAttribute(phoneStoreLanguageKey)));
-
-                        CustomerAccounts answer = CallBackResponse.customerAccountsDB(sessionPhoneNumber.get());
-                        callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, answer.getUSDAccountsFromDB(langType.getLangType()));
-                        execute(callbackMessage);
-                    } catch (IOException | TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
-
-                case "EUR_Account":
-                    try {
-                        sessionPhoneNumber = new AtomicReference<>(new SessionPhoneNumber());
-                        session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                        session.ifPresent(value -> sessionPhoneNumber.set((SessionPhoneNumber) value.getAttribute(phoneStoreLanguageKey)));
-
-                        CustomerAccounts answer = CallBackResponse.customerAccountsDB(sessionPhoneNumber.get());
-                        callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, answer.getEURAccountsFromDB(langType.getLangType()));
-                        execute(callbackMessage);
-                    } catch (IOException | TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
-
-                case "AZN_Credits":
-                    try {
-                        sessionPhoneNumber = new AtomicReference<>(new SessionPhoneNumber());
-                        session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                        session.ifPresent(value -> sessionPhoneNumber.set((SessionPhoneNumber) value.getAttribute(phoneStoreLanguageKey)));
-
-                        CustomerCreditsAmount answer = CallBackResponse.customerCreditsAmountDB(sessionPhoneNumber.get());
-                        callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, answer.getTotalCreditsAmountInAZN(langType.getLangType()));
-                        execute(callbackMessage);
-                    } catch (IOException | TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
-
-                case "USD_Credits":
-                    try {
-                        sessionPhoneNumber = new AtomicReference<>(new SessionPhoneNumber());
-                        session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                        session.ifPresent(value -> sessionPhoneNumber.set((SessionPhoneNumber) value.getAttribute(phoneStoreLanguageKey)));
-
-                        CustomerCreditsAmount answer = CallBackResponse.customerCreditsAmountDB(sessionPhoneNumber.get());
-                        callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, answer.getTotalCreditsAmountInUSD(langType.getLangType()));
-                        execute(callbackMessage);
-                    } catch (IOException | TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
-
-                case "Baku_Branches":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.selectAction);
-
-                    try {
-                        execute(callbackMessage);
-                        execute(botInlineButtonsConfig.inlineKeyboardForBakuBranch(callbackMessage));
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
-
-                case "Regional_Branches":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.selectAction);
-
-                    try {
-                        execute(callbackMessage);
-                        execute(botInlineButtonsConfig.inlineKeyboardForRegionalBranches(callbackMessage));
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+            router.routeCallback(update.getCallbackQuery().getData(), update, context);
+        } else if (Objects.requireNonNull(update.getMessage()).getContact() != null) {
+            router.routeContact(update, context);
+        }
+    }
 
-                case "Head_Office":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.bakuHeadBranchAddress);
+    private UpdateRouter buildRouter() {
+        return UpdateRouter.builder()
+                .onText("languageAz", (update, context) -> selectLanguage(update, context, "az"), languageAz)
+                .onText("languageEn", (update, context) -> selectLanguage(update, context, "en"), languageEn)
+                .onText("languageRu", (update, context) -> selectLanguage(update, context, "ru"), languageRu)
+                .onText("start", this::start, "/start")
+                .onText("myAccounts", this::myAccounts, myAccountsAz, myAccountsEn, myAccountsRu)
+                .onText("myCredits", this::myCredits, myCreditsAz, myCreditsEn, myCreditsRu)
+                .onText("branches", this::branches, branchesAz, branchesEn, branchesRu)
+                .onText("bankNews", this::bankNews, bankNewsAz, bankNewsEn, bankNewsRu)
+                .onText("currencyRates", this::currencyRates, currencyRatesAz, currencyRatesEn, currencyRatesRu)
+                .onText("settings", this::settings, settingsAz, settingsEn, settingsRu)
+                .onText("changeLanguage", this::changeLanguage, changeLanguageAz, changeLanguageEn, changeLanguageRu)
+                .onText("contactTheBank", this::contactTheBank, contactTheBankAz, contactTheBankEn, contactTheBankRu)
+                .onText("backFunction", this::backFunction, backFunctionAz, backFunctionEn, backFunctionRu)
+                .otherwise("selectAction", this::selectAction)
+                .onCallback("AZN_Account", (update, context) -> customerAccounts(update, context, CustomerAccounts::getAZNAccountsFromDB))
+                .onCallback("USD_Account", (update, context) -> customerAccounts(update, context, CustomerAccounts::getUSDAccountsFromDB))
+                .onCallback("EUR_Account", (update, context) -> customerAccounts(update, context, CustomerAccounts::getEURAccountsFromDB))
+                .onCallback("AZN_Credits", (update, context) -> customerCredits(update, context, CustomerCreditsAmount::getTotalCreditsAmountInAZN))
+                .onCallback("USD_Credits", (update, context) -> customerCredits(update, context, CustomerCreditsAmount::getTotalCreditsAmountInUSD))
+                .onCallback("Baku_Branches", (update, context) -> branchList(update, context, BotInlineButtonsConfig.BAKU_BRANCHES))
+                .onCallback("Regional_Branches", (update, context) -> branchList(update, context, BotInlineButtonsConfig.REGIONAL_BRANCHES))
+                .onCallback("Head_Office", (update, context) -> editAddress(update, context, context.languageElement().bakuHeadBranchAddress))
+                .onCallback("Individual_Banking", (update, context) -> editAddress(update, context, context.languageElement().individualBankingAddress))
+                .onCallback("Bridge_Plaza", (update, context) -> editAddress(update, context, context.languageElement().bridgePlazaAddress))
+                .onCallback("Port_Baku", (update, context) -> editAddress(update, context, context.languageElement().portBakuAddress))
+                .onCallback("Landmark", (update, context) -> editAddress(update, context, context.languageElement().landmarkAddress))
+                .onCallback("Shuvalan", (update, context) -> editAddress(update, context, context.languageElement().shuvalanAddress))
+                .onCallback("28_May", (update, context) -> editAddress(update, context, context.languageElement().twentyEightAddress))
+                .onCallback("White_City", (update, context) -> editAddress(update, context, context.languageElement().whiteCityAddress))
+                .onCallback("Ganja_Branch", (update, context) -> editAddress(update, context, context.languageElement().ganjaBranchAddress))
+                .onCallback("Zagatala_Branch", (update, context) -> editAddress(update, context, context.languageElement().zagatalaBranchAddress))
+                .onCallback("Guba_Branch", (update, context) -> editAddress(update, context, context.languageElement().gubaBranchAddress))
+                .onContact("contact", this::contact)
+                .build();
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private void selectLanguage(Update update, RequestContext context, String lang) {
+        sessions.update(context.getChatId(), session -> session.withLang(lang));
+        RequestContext selected = context.withLang(lang).asGuest();
+        sendChatAction(context);
+        sendMsg(selected, selected.languageElement().authenticationText, true, ButtonsType.NULL);
+    }
 
-                case "Individual_Banking":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.individualBankingAddress);
+    private void start(Update update, RequestContext context) {
+        sessions.update(context.getChatId(), session -> session.withPhoneNumber(null));
+        if (context.getPhoneNumber() != null) {
+            CallBackResponse.forget(context.getPhoneNumber());
+        }
+        sendChatAction(context);
+        sendMsg(context.asGuest(), LanguageElement.of("az").startText, false, ButtonsType.NULL);
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private void myAccounts(Update update, RequestContext context) {
+        sendChatAction(context);
+        sendMsg(context, context.languageElement().accountsTypesText.trim(), true, ButtonsType.ACCOUNTS);
+    }
 
-                case "Bridge_Plaza":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.bridgePlazaAddress);
+    private void myCredits(Update update, RequestContext context) {
+        sendChatAction(context);
+        sendMsg(context, context.languageElement().creditsTypesText.trim(), true, ButtonsType.CREDITS);
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private void branches(Update update, RequestContext context) {
+        sendChatAction(context);
+        sendMsg(context.asGuest(), context.languageElement().bankBranchesChooseTypeText, true, ButtonsType.BRANCHES);
+    }
 
-                case "Port_Baku":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.portBakuAddress);
+    private void bankNews(Update update, RequestContext context) {
+        sendChatAction(context);
+        sendMsg(context.asGuest(), BankNews.getBankNews(context.getLang()), true, ButtonsType.NULL);
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private void currencyRates(Update update, RequestContext context) {
+        sendChatAction(context);
+        sendMsg(context.asGuest(), CurrencyRates.getCurrencyRates(context.getLang()), true, ButtonsType.NULL);
+    }
 
-                case "Landmark":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.landmarkAddress);
+    private void settings(Update update, RequestContext context) {
+        sendChatAction(context);
+        sendMsg(context.asGuest(), context.languageElement().selectAction, true, ButtonsType.SETTINGS);
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private void changeLanguage(Update update, RequestContext context) {
+        sendChatAction(context);
+        sendMsg(context.asGuest(), context.languageElement().chooseTheLanguage, false, ButtonsType.NULL);
+    }
 
-                case "Shuvalan":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.shuvalanAddress);
+    private void contactTheBank(Update update, RequestContext context) {
+        sendChatAction(context);
+        sendMsg(context.asGuest(), context.languageElement().bankPhoneNumbers.trim(), true, ButtonsType.NULL);
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private void backFunction(Update update, RequestContext context) {
+        sendChatAction(context);
+        sendMsg(context.asGuest(), context.languageElement().backFunction.trim(), true, ButtonsType.NULL);
+    }
 
-                case "28_May":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.twentyEightAddress);
+    private void selectAction(Update update, RequestContext context) {
+        sendChatAction(context);
+        if (!context.isLangSelected()) {
+            sendMsg(context.asGuest(), LanguageElement.of("az").selectAction, false, ButtonsType.NULL);
+        } else {
+            sendMsg(context.asGuest(), context.languageElement().selectAction, true, ButtonsType.NULL);
+        }
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private void customerAccounts(Update update, RequestContext context, BiFunction<CustomerAccounts, String, String> text) {
+        editCustomerAnswer(update, context, CallBackResponse.customerAccountsDB(context.getPhoneNumber()), text);
+    }
 
-                case "White_City":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.whiteCityAddress);
+    private void customerCredits(Update update, RequestContext context, BiFunction<CustomerCreditsAmount, String, String> text) {
+        editCustomerAnswer(update, context, CallBackResponse.customerCreditsAmountDB(context.getPhoneNumber()), text);
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private <T> void editCustomerAnswer(Update update, RequestContext context, CompletableFuture<T> lookup,
+                                        BiFunction<T, String, String> text) {
+        long messageId = messageIdOf(update);
+        context.track(lookup)
+                .thenAccept(answer -> composer.edit(context, messageId, answer == null
+                        ? context.languageElement().noUserInformationAvailableText
+                        : text.apply(answer, context.getLang())))
+                .exceptionally(failure -> editFailure(context, messageId, failure));
+    }
 
-                case "Ganja_Branch":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.ganjaBranchAddress);
+    private Void editFailure(RequestContext context, long messageId, Throwable failure) {
+        if (isUnavailable(failure)) {
+            composer.edit(context, messageId, context.languageElement().serviceUnavailableText);
+            return null;
+        }
+        return printFailure(context, failure);
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private static boolean isUnavailable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CancellationException) {
+                return true;
+            }
+        }
+        return ServiceUnavailableException.isCause(failure);
+    }
 
-                case "Zagatala_Branch":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.zagatalaBranchAddress);
+    private Void printFailure(RequestContext context, Throwable throwable) {
+        Route route = context.getRoute();
+        (route == null ? Metrics.timer(Stage.HANDLER, null, context.getLang()) : route.timer(context.getLang())).error();
+        throwable.printStackTrace();
+        return null;
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
-                    }
-                    break;
+    private void branchList(Update update, RequestContext context, InlineKeyboardMarkup keyboard) {
+        composer.edit(context, messageIdOf(update), context.languageElement().selectAction, keyboard);
+    }
 
+    private void editAddress(Update update, RequestContext context, String address) {
+        composer.edit(context, messageIdOf(update), address);
+    }
 
-                case "Guba_Branch":
-                    session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-                    langElements = new LanguageElement(langType.getLangType());
-                    callbackMessage = CallBackResponse.editMessageText(chat_id, message_id, langElements.gubaBranchAddress);
+    private static long messageIdOf(Update update) {
+        return update.getCallbackQuery().getMessage().getMessageId();
+    }
 
-                    try {
-                        execute(callbackMessage);
-                    } catch (TelegramApiException e) {
-                        e.printStackTrace();
+    private void contact(Update update, RequestContext context) {
+        String customerPhoneNumber = update.getMessage().getContact().getPhoneNumber();
+        customerPhoneNumber = customerPhoneNumber.contains("+") ? customerPhoneNumber.substring(1) : customerPhoneNumber;
+
+        String phoneNumber = customerPhoneNumber;
+        LanguageElement langElements = context.languageElement();
+        sendChatAction(context);
+        context.track(CallBackResponse.customerInfoDB(customerPhoneNumber))
+                .thenAccept(customerNameAndSurname -> {
+                    if (customerNameAndSurname == null) {
+                        forgetPhoneNumber(context);
+                        sendMsg(context.asGuest(), langElements.noUserInformationAvailableText, false, ButtonsType.NULL);
+                        return;
                     }
-                    break;
-
-                default:
-                    break;
-            }
-
-        } else if (Objects.requireNonNull(update.getMessage()).getContact() != null) {
-            String customerPhoneNumber = update.getMessage().getContact().getPhoneNumber();
-            customerPhoneNumber = customerPhoneNumber.contains("+") ? customerPhoneNumber.substring(1) : customerPhoneNumber;
-
-            var sessionPhoneNumber = new SessionPhoneNumber();
-            sessionPhoneNumber.setPhoneNumber(customerPhoneNumber);
-            session.ifPresent(value -> value.setAttribute(phoneStoreLanguageKey, sessionPhoneNumber));
-            session.ifPresent(value -> langType = (LanguageValue) value.getAttribute(languageKey));
-
-            langElements = new LanguageElement(langType.getLangType());
-            sendChatAction(update);
-            try {
-                if (okHttpGet.run(ApiRequest.getCustomerNameAndSurname(customerPhoneNumber)).isEmpty()) {
-                    if (sessionPhoneNumber.getPhoneNumber() != null) {
-                        sessionPhoneNumber.setPhoneNumber(null);
+                    sessions.update(context.getChatId(), session -> session.withPhoneNumber(phoneNumber));
+                    sendMsg(context.withPhoneNumber(phoneNumber), String.format(langElements.welcomeText.trim(),
+                            customerNameAndSurname.getCustomerName(), customerNameAndSurname.getCustomerSurname())
+                            , true, ButtonsType.NULL);
+                })
+                .exceptionally(failure -> {
+                    forgetPhoneNumber(context);
+                    if (isUnavailable(failure)) {
+                        sendMsg(context.asGuest(), langElements.serviceUnavailableText, true, ButtonsType.NULL);
+                        return null;
                     }
-                    sendMsg(Objects.requireNonNull(message), langElements.noUserInformationAvailableText, false, null, null, ButtonsType.NULL);
-                    return;
-                }
-                String response = okHttpGet.run(ApiRequest.getCustomerNameAndSurname(customerPhoneNumber));
-                CustomerInfo customerNameAndSurname = gson.fromJson(response, CustomerInfo.class);
-
-                sendMsg(Objects.requireNonNull(message), String.format(langElements.welcomeText.trim(),
-                        customerNameAndSurname.getCustomerName(), customerNameAndSurname.getCustomerSurname())
-                        , true, langType.getLangType(), customerPhoneNumber, ButtonsType.NULL);
-
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
+                    return printFailure(context, failure);
+                });
+    }
 
+    private void forgetPhoneNumber(RequestContext context) {
+        String previous = context.getPhoneNumber();
+        sessions.update(context.getChatId(), session ->
+                Objects.equals(previous, session.getPhoneNumber()) ? session.withPhoneNumber(null) : session);
     }
 
-    private void setButtons(SendMessage sendMessage, boolean langSelected, String lang, String phoneNum, ButtonsType buttonsType) {
-        BotButtonsConfig.setButtons(sendMessage, langSelected, lang, phoneNum, buttonsType);
+    private void setButtons(SendMessage sendMessage, boolean langSelected, RequestContext context, ButtonsType buttonsType) {
+        BotButtonsConfig.setButtons(sendMessage, langSelected, context, buttonsType);
     }
 
     public String getBotUsername() {
@@ -522,15 +325,37 @@ public class BotConfig extends TelegramLongPollingSessionBot {
         return Main.BOT_TOKEN;
     }
 
-    private void sendChatAction(Update update) {
-        SendChatAction sendChatAction = new SendChatAction();
-        try {
-            sendChatAction.setChatId(update.getMessage().getChatId());
-            sendChatAction.setAction(ActionType.TYPING);
-            execute(sendChatAction);
-        } catch (TelegramApiException e) {
-            e.printStackTrace();
-        } catch (NullPointerException ignored) {
+    @Override
+    public void onClosing() {
+        super.onClosing();
+        dispatcher.shutdown();
+        CallBackResponse.shutdown();
+        outbound.shutdown();
+        sessions.close();
+        if (recorder != null) {
+            recorder.close();
         }
+        CallBackResponse.cancelAll();
+        MetricsReporter.report();
+    }
+
+    private void registerGauges() {
+        Metrics.register("dispatcher", dispatcher::getMetrics);
+        Metrics.register("outbound", () -> outbound.getMetrics() + " " + composer);
+        Metrics.register("sessions", sessions::size);
+        Metrics.register("routeReplyMs", () -> router.getRoutes().stream()
+                .filter(route -> route.getReplyMillis() > 0)
+                .map(Route::toString)
+                .collect(Collectors.joining(" ")));
+        Metrics.register("customerCache", CallBackResponse::getCustomers);
+        Metrics.register("customerSnapshots", CallBackResponse::getSnapshotClient);
+        Metrics.register("customerApi", CallBackResponse::getCustomerApi);
+        if (recorder != null) {
+            Metrics.register("capture", recorder::toString);
+        }
+    }
+
+    private void sendChatAction(RequestContext context) {
+        composer.typing(context);
     }
 }
\ No newline at end of file
@@ -1,8 +1,6 @@
 package config;
 
 import langs.LanguageElement;
-import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
-import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
 import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.InlineKeyboardButton;
 
@@ -10,54 +8,66 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-class BotInlineButtonsConfig extends InlineKeyboardMarkup {
+final class BotInlineButtonsConfig {
 
-    private InlineKeyboardMarkup markupInline = new InlineKeyboardMarkup();
-    private List<InlineKeyboardButton> rowInline = new ArrayList<>();
-    private List<List<InlineKeyboardButton>> rowList = new ArrayList<>();
+    static final InlineKeyboardMarkup CUSTOMER_ACCOUNTS = singleRow(
+            button("AZN", "AZN_Account"),
+            button("USD", "USD_Account"),
+            button("EUR", "EUR_Account"));
 
+    static final InlineKeyboardMarkup CUSTOMER_CREDITS = singleRow(
+            button("AZN", "AZN_Credits"),
+            button("USD", "USD_Credits"));
 
-    void inlineKeyboardForCustomerAccounts(SendMessage sendMessage) {
-        rowInline.add(new InlineKeyboardButton().setText("AZN").setCallbackData("AZN_Account"));
-        rowInline.add(new InlineKeyboardButton().setText("USD").setCallbackData("USD_Account"));
-        rowInline.add(new InlineKeyboardButton().setText("EUR").setCallbackData("EUR_Account"));
-        markupInline.setKeyboard(Collections.singletonList(rowInline));
-        sendMessage.setReplyMarkup(markupInline);
+    static final InlineKeyboardMarkup BAKU_BRANCHES = oneButtonPerRow(
+            button("Baş Ofis", "Head_Office"),
+            button("Fərdi Bankçılıq şöbəsi", "Individual_Banking"),
+            button("Bridge Plaza şöbəsi", "Bridge_Plaza"),
+            button("Port Baku şöbəsi", "Port_Baku"),
+            button("Landmark şöbəsi", "Landmark"),
+            button("Şüvəlan şöbəsi", "Shuvalan"),
+            button("28 May mübadilə şöbəsi", "28_May"),
+            button("Ağ şəhər mübadilə şöbəsi", "White_City"));
+
+    static final InlineKeyboardMarkup REGIONAL_BRANCHES = oneButtonPerRow(
+            button("Gəncə filialı", "Ganja_Branch"),
+            button("Zaqatala filialı", "Zagatala_Branch"),
+            button("Quba filialı", "Guba_Branch"));
+
+    private BotInlineButtonsConfig() {
     }
 
-    void inlineKeyboardForCustomerCredits(SendMessage sendMessage) {
-        rowInline.add(new InlineKeyboardButton().setText("AZN").setCallbackData("AZN_Credits"));
-        rowInline.add(new InlineKeyboardButton().setText("USD").setCallbackData("USD_Credits"));
-        markupInline.setKeyboard(Collections.singletonList(rowInline));
-        sendMessage.setReplyMarkup(markupInline);
+    static InlineKeyboardMarkup bankBranches(LanguageElement languageElement) {
+        return oneButtonPerRow(
+                button(languageElement.bankBakuBranchesViewNameText.trim(), "Baku_Branches"),
+                button(languageElement.bankRegionalBranchesViewNameText.trim(), "Regional_Branches"));
     }
 
-    void inlineKeyboardForBankBranches(SendMessage sendMessage, LanguageElement languageElement) {
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText(languageElement.bankBakuBranchesViewNameText.trim()).setCallbackData("Baku_Branches")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText(languageElement.bankRegionalBranchesViewNameText.trim()).setCallbackData("Regional_Branches")));
-        markupInline.setKeyboard(rowList);
-        sendMessage.setReplyMarkup(markupInline);
+    private static InlineKeyboardButton button(String text, String callbackData) {
+        return new InlineKeyboardButton().setText(text).setCallbackData(callbackData);
     }
 
-    EditMessageText inlineKeyboardForBakuBranch(EditMessageText editMessageText) {
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Baş Ofis").setCallbackData("Head_Office")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Fərdi Bankçılıq şöbəsi").setCallbackData("Individual_Banking")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Bridge Plaza şöbəsi").setCallbackData("Bridge_Plaza")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Port Baku şöbəsi").setCallbackData("Port_Baku")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Landmark şöbəsi").setCallbackData("Landmark")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Şüvəlan şöbəsi").setCallbackData("Shuvalan")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("28 May mübadilə şöbəsi").setCallbackData("28_May")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Ağ şəhər mübadilə şöbəsi").setCallbackData("White_City")));
-        markupInline.setKeyboard(rowList);
-        return editMessageText.setReplyMarkup(markupInline);
+    private static InlineKeyboardMarkup singleRow(InlineKeyboardButton... buttons) {
+        return new FrozenInlineKeyboard(Collections.singletonList(List.of(buttons)));
     }
 
-    EditMessageText inlineKeyboardForRegionalBranches(EditMessageText editMessageText) {
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Gəncə filialı").setCallbackData("Ganja_Branch")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Zaqatala filialı").setCallbackData("Zagatala_Branch")));
-        rowList.add(Collections.singletonList(new InlineKeyboardButton().setText("Quba filialı").setCallbackData("Guba_Branch")));
-        markupInline.setKeyboard(rowList);
-        return editMessageText.setReplyMarkup(markupInline);
+    private static InlineKeyboardMarkup oneButtonPerRow(InlineKeyboardButton... buttons) {
+        List<List<InlineKeyboardButton>> rows = new ArrayList<>();
+        for (InlineKeyboardButton button : buttons) {
+            rows.add(Collections.singletonList(button));
+        }
+        return new FrozenInlineKeyboard(Collections.unmodifiableList(rows));
     }
-}
 
+    private static final class FrozenInlineKeyboard extends InlineKeyboardMarkup {
+
+        private FrozenInlineKeyboard(List<List<InlineKeyboardButton>> rows) {
+            super.setKeyboard(rows);
+        }
+
+        @Override
+        public InlineKeyboardMarkup setKeyboard(List<List<InlineKeyboardButton>> keyboard) {
+            throw new UnsupportedOperationException("Shared keyboards are read-only");
+        }
+    }
+}
@@ -1,21 +1,20 @@
 package config;
 
-import api.ApiRequest;
-import api.OkHttpGet;
-import auth.SessionPhoneNumber;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import api.CustomerLookup;
+import api.CustomerSnapshotClient;
+import api.OkHttpAsyncGet;
 import database.CustomerAccounts;
 import database.CustomerCreditsAmount;
+import database.CustomerInfo;
 import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
 
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 class CallBackResponse {
 
-    private final static OkHttpGet okHttpGet = new OkHttpGet();
-    private final static GsonBuilder gsonBuilder = new GsonBuilder();
-    private final static Gson gson = gsonBuilder.create();
+    private final static OkHttpAsyncGet okHttpAsyncGet = new OkHttpAsyncGet();
+    private final static CustomerSnapshotClient snapshotClient = CustomerSnapshotClient.fromSystemProperties(okHttpAsyncGet);
+    private final static CustomerLookup customers = CustomerLookup.fromSystemProperties(snapshotClient);
 
     static EditMessageText editMessageText(long chat_id, long message_id, String answer) {
         EditMessageText editMessageText;
@@ -26,13 +25,39 @@ class CallBackResponse {
         return editMessageText;
     }
 
-      static CustomerAccounts customerAccountsDB(SessionPhoneNumber sessionPhoneNumber) throws IOException {
-        String response = okHttpGet.run(ApiRequest.getCustomerAccounts(sessionPhoneNumber.getPhoneNumber()));
-        return gson.fromJson(response, CustomerAccounts[].class)[0];
+    static CompletableFuture<CustomerInfo> customerInfoDB(String phoneNumber) {
+        return customers.info(phoneNumber);
     }
 
-      static CustomerCreditsAmount customerCreditsAmountDB(SessionPhoneNumber sessionPhoneNumber) throws IOException {
-        String response = okHttpGet.run(ApiRequest.getTotalCustomerCreditsAmount(sessionPhoneNumber.getPhoneNumber()));
-        return gson.fromJson(response, CustomerCreditsAmount[].class)[0];
+    static void forget(String phoneNumber) {
+        customers.forget(phoneNumber);
+    }
+
+    static CompletableFuture<CustomerAccounts> customerAccountsDB(String phoneNumber) {
+        return customers.accounts(phoneNumber);
+    }
+
+    static CompletableFuture<CustomerCreditsAmount> customerCreditsAmountDB(String phoneNumber) {
+        return customers.credits(phoneNumber);
+    }
+
+    static CustomerLookup getCustomers() {
+        return customers;
+    }
+
+    static CustomerSnapshotClient getSnapshotClient() {
+        return snapshotClient;
+    }
+
+    static OkHttpAsyncGet getCustomerApi() {
+        return okHttpAsyncGet;
+    }
+
+    static void shutdown() {
+        okHttpAsyncGet.shutdown();
+    }
+
+    static void cancelAll() {
+        okHttpAsyncGet.cancelAll();
     }
 }
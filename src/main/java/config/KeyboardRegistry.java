@@ -0,0 +1,99 @@
+package config;
+
+import langs.LanguageCatalog;
+import langs.LanguageElement;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboard;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
+
+import java.util.HashMap;
+import java.util.Map;
+
+final class KeyboardRegistry {
+
+    private static final String[] LANGUAGES = {"az", "en", "ru"};
+    private static final ReplyKeyboardMarkup LANGUAGE_KEYBOARD = BotButtonsConfig.languageKeyboard();
+
+    private static volatile Snapshot snapshot = build(LanguageCatalog.version());
+
+    private KeyboardRegistry() {
+    }
+
+    static ReplyKeyboard keyboard(boolean langSelected, RequestContext context, BotConfig.ButtonsType buttonsType) {
+        if (!langSelected) {
+            return LANGUAGE_KEYBOARD;
+        }
+        Keyboards keyboards = current().keyboards.get(context.getLang());
+        if (keyboards == null) {
+            throw new IllegalArgumentException("Unsupported language: " + context.getLang());
+        }
+
+        if (context.getPhoneNumber() == null) {
+            switch (buttonsType) {
+                case SETTINGS:
+                    return keyboards.settings;
+                case BRANCHES:
+                    return keyboards.bankBranches;
+                default:
+                    return keyboards.guest;
+            }
+        }
+        switch (buttonsType) {
+            case ACCOUNTS:
+                return BotInlineButtonsConfig.CUSTOMER_ACCOUNTS;
+            case CREDITS:
+                return BotInlineButtonsConfig.CUSTOMER_CREDITS;
+            default:
+                return keyboards.customer;
+        }
+    }
+
+    private static Snapshot current() {
+        Snapshot current = snapshot;
+        long version = LanguageCatalog.version();
+        if (current.catalogVersion != version) {
+            synchronized (KeyboardRegistry.class) {
+                current = snapshot;
+                if (current.catalogVersion != version) {
+                    current = build(version);
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static Snapshot build(long catalogVersion) {
+        Map<String, Keyboards> keyboards = new HashMap<>();
+        for (String lang : LANGUAGES) {
+            keyboards.put(lang, new Keyboards(LanguageElement.of(lang)));
+        }
+        return new Snapshot(catalogVersion, Map.copyOf(keyboards));
+    }
+
+    private static final class Snapshot {
+
+        private final long catalogVersion;
+        private final Map<String, Keyboards> keyboards;
+
+        private Snapshot(long catalogVersion, Map<String, Keyboards> keyboards) {
+            this.catalogVersion = catalogVersion;
+            this.keyboards = keyboards;
+        }
+    }
+
+    private static final class Keyboards {
+
+        private final ReplyKeyboardMarkup guest;
+        private final ReplyKeyboardMarkup settings;
+        private final ReplyKeyboardMarkup customer;
+        private final InlineKeyboardMarkup bankBranches;
+
+        private Keyboards(LanguageElement languageElement) {
+            this.guest = BotButtonsConfig.guestKeyboard(languageElement);
+            this.settings = BotButtonsConfig.settingsKeyboard(languageElement);
+            this.customer = BotButtonsConfig.customerKeyboard(languageElement);
+            this.bankBranches = BotInlineButtonsConfig.bankBranches(languageElement);
+        }
+    }
+}
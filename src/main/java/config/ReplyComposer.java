@@ -0,0 +1,71 @@
+package config;
+
+import org.telegram.telegrambots.meta.api.methods.ActionType;
+import org.telegram.telegrambots.meta.api.methods.send.SendChatAction;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import outbound.OutboundScheduler;
+import outbound.SendPriority;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class ReplyComposer {
+
+    private final OutboundScheduler outbound;
+    private final long typingThresholdNanos;
+    private final LongAdder typingSent = new LongAdder();
+    private final LongAdder typingSkipped = new LongAdder();
+
+    ReplyComposer(OutboundScheduler outbound, long typingThresholdMillis) {
+        this.outbound = outbound;
+        this.typingThresholdNanos = TimeUnit.MILLISECONDS.toNanos(typingThresholdMillis);
+    }
+
+    static ReplyComposer fromSystemProperties(OutboundScheduler outbound) {
+        return new ReplyComposer(outbound, Long.getLong("bot.typing.thresholdMs", 300L));
+    }
+
+    void typing(RequestContext context) {
+        Route route = context.getRoute();
+        if (route != null && !route.isPredictedSlow(typingThresholdNanos)) {
+            typingSkipped.increment();
+            return;
+        }
+        SendChatAction sendChatAction = new SendChatAction();
+        sendChatAction.setChatId(context.getChatId());
+        sendChatAction.setAction(ActionType.TYPING);
+        outbound.submit(context.getChatId(), sendChatAction, SendPriority.TYPING);
+        typingSent.increment();
+    }
+
+    void send(RequestContext context, SendMessage sendMessage) {
+        replied(context);
+        outbound.submit(context.getChatId(), sendMessage, SendPriority.REPLY);
+    }
+
+    void edit(RequestContext context, long messageId, String text) {
+        edit(context, messageId, text, null);
+    }
+
+    void edit(RequestContext context, long messageId, String text, InlineKeyboardMarkup keyboard) {
+        EditMessageText editMessageText = CallBackResponse.editMessageText(context.getChatId(), messageId, text);
+        if (keyboard != null) {
+            editMessageText.setReplyMarkup(keyboard);
+        }
+        replied(context);
+        outbound.submit(context.getChatId(), editMessageText, SendPriority.REPLY);
+    }
+
+    private void replied(RequestContext context) {
+        if (context.getRoute() != null) {
+            context.getRoute().replied(context.getStartedAt());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("typingSent=%d typingSkipped=%d", typingSent.sum(), typingSkipped.sum());
+    }
+}
@@ -0,0 +1,76 @@
+package config;
+
+import langs.LanguageElement;
+
+import java.util.concurrent.CompletableFuture;
+
+final class RequestContext {
+
+    private final long chatId;
+    private final String lang;
+    private final String phoneNumber;
+    private final Route route;
+    private final long startedAt;
+    private final UpdateScope scope;
+
+    RequestContext(long chatId, String lang, String phoneNumber, UpdateScope scope) {
+        this(chatId, lang, phoneNumber, null, 0L, scope);
+    }
+
+    private RequestContext(long chatId, String lang, String phoneNumber, Route route, long startedAt, UpdateScope scope) {
+        this.chatId = chatId;
+        this.lang = lang;
+        this.phoneNumber = phoneNumber;
+        this.route = route;
+        this.startedAt = startedAt;
+        this.scope = scope;
+    }
+
+    long getChatId() {
+        return chatId;
+    }
+
+    String getLang() {
+        return lang;
+    }
+
+    String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    Route getRoute() {
+        return route;
+    }
+
+    long getStartedAt() {
+        return startedAt;
+    }
+
+    <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        return scope.track(future);
+    }
+
+    boolean isLangSelected() {
+        return lang != null;
+    }
+
+    LanguageElement languageElement() {
+        return LanguageElement.of(lang);
+    }
+
+    RequestContext withLang(String lang) {
+        return new RequestContext(chatId, lang, phoneNumber, route, startedAt, scope);
+    }
+
+    RequestContext withPhoneNumber(String phoneNumber) {
+        return new RequestContext(chatId, lang, phoneNumber, route, startedAt, scope);
+    }
+
+    RequestContext routedTo(Route route, long startedAt) {
+        return new RequestContext(chatId, lang, phoneNumber, route, startedAt, scope);
+    }
+
+    RequestContext asGuest() {
+        return phoneNumber == null ? this : withPhoneNumber(null);
+    }
+}
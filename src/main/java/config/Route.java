@@ -0,0 +1,75 @@
+package config;
+
+import metrics.Metrics;
+import metrics.Stage;
+import metrics.Timer;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class Route {
+
+    private static final String[] LANGUAGES = {"az", "en", "ru"};
+
+    private final String name;
+    private final RouteHandler handler;
+    private final Timer guestTimer;
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final AtomicLong replyNanos = new AtomicLong(-1);
+
+    Route(String name, RouteHandler handler) {
+        this.name = name;
+        this.handler = handler;
+        this.guestTimer = Metrics.timer(Stage.HANDLER, name, null);
+        for (String lang : LANGUAGES) {
+            timers.put(lang, Metrics.timer(Stage.HANDLER, name, lang));
+        }
+    }
+
+    void invoke(Update update, RequestContext context) {
+        Timer timer = timer(context.getLang());
+        long start = System.nanoTime();
+        try {
+            handler.handle(update, context.routedTo(this, start));
+        } catch (RuntimeException e) {
+            timer.error();
+            throw e;
+        } finally {
+            timer.recordSince(start);
+        }
+    }
+
+    Timer timer(String lang) {
+        if (lang == null) {
+            return guestTimer;
+        }
+        Timer timer = timers.get(lang);
+        return timer != null ? timer : timers.computeIfAbsent(lang, key -> Metrics.timer(Stage.HANDLER, name, key));
+    }
+
+    void replied(long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        long previous;
+        long next;
+        do {
+            previous = replyNanos.get();
+            next = previous < 0 ? elapsed : previous + (elapsed - previous) / 5;
+        } while (!replyNanos.compareAndSet(previous, next));
+    }
+
+    boolean isPredictedSlow(long thresholdNanos) {
+        long predicted = replyNanos.get();
+        return predicted < 0 || predicted > thresholdNanos;
+    }
+
+    double getReplyMillis() {
+        long predicted = replyNanos.get();
+        return predicted < 0 ? 0 : predicted / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s=%.2f", name, getReplyMillis());
+    }
+}
@@ -0,0 +1,9 @@
+package config;
+
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+@FunctionalInterface
+interface RouteHandler {
+
+    void handle(Update update, RequestContext context);
+}
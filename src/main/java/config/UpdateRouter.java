@@ -0,0 +1,104 @@
+package config;
+
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class UpdateRouter {
+
+    private final Map<String, Route> textRoutes;
+    private final Map<String, Route> callbackRoutes;
+    private final Route fallbackTextRoute;
+    private final Route contactRoute;
+    private final List<Route> routes;
+
+    private UpdateRouter(Builder builder) {
+        this.textRoutes = Map.copyOf(builder.textRoutes);
+        this.callbackRoutes = Map.copyOf(builder.callbackRoutes);
+        this.fallbackTextRoute = builder.fallbackTextRoute;
+        this.contactRoute = builder.contactRoute;
+        this.routes = List.copyOf(builder.routes.values());
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    void routeText(String text, Update update, RequestContext context) {
+        Route route = textRoutes.get(text);
+        (route != null ? route : fallbackTextRoute).invoke(update, context);
+    }
+
+    void routeCallback(String data, Update update, RequestContext context) {
+        Route route = callbackRoutes.get(data);
+        if (route != null) {
+            route.invoke(update, context);
+        }
+    }
+
+    void routeContact(Update update, RequestContext context) {
+        contactRoute.invoke(update, context);
+    }
+
+    Collection<Route> getRoutes() {
+        return routes;
+    }
+
+    static final class Builder {
+
+        private final Map<String, Route> textRoutes = new HashMap<>();
+        private final Map<String, Route> callbackRoutes = new HashMap<>();
+        private final Map<String, Route> routes = new LinkedHashMap<>();
+        private Route fallbackTextRoute;
+        private Route contactRoute;
+
+        private Builder() {
+        }
+
+        Builder onText(String name, RouteHandler handler, String... labels) {
+            Route route = register(name, handler);
+            for (String label : labels) {
+                if (textRoutes.putIfAbsent(label, route) != null) {
+                    throw new IllegalStateException("Duplicate text route for " + label);
+                }
+            }
+            return this;
+        }
+
+        Builder onCallback(String data, RouteHandler handler) {
+            if (callbackRoutes.putIfAbsent(data, register(data, handler)) != null) {
+                throw new IllegalStateException("Duplicate callback route for " + data);
+            }
+            return this;
+        }
+
+        Builder otherwise(String name, RouteHandler handler) {
+            fallbackTextRoute = register(name, handler);
+            return this;
+        }
+
+        Builder onContact(String name, RouteHandler handler) {
+            contactRoute = register(name, handler);
+            return this;
+        }
+
+        UpdateRouter build() {
+            if (fallbackTextRoute == null || contactRoute == null) {
+                throw new IllegalStateException("Fallback and contact routes are required");
+            }
+            return new UpdateRouter(this);
+        }
+
+        private Route register(String name, RouteHandler handler) {
+            Route route = new Route(name, handler);
+            if (routes.putIfAbsent(name, route) != null) {
+                throw new IllegalStateException("Duplicate route name " + name);
+            }
+            return route;
+        }
+    }
+}
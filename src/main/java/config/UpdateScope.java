@@ -0,0 +1,57 @@
+package config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+final class UpdateScope {
+
+    private static final ScheduledThreadPoolExecutor deadlines = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "update-deadlines");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        deadlines.setRemoveOnCancelPolicy(true);
+    }
+
+    private final long receivedAt;
+    private final long timeoutNanos;
+
+    UpdateScope(long receivedAt, long timeoutNanos) {
+        this.receivedAt = receivedAt;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    static UpdateScope fromSystemProperties(long receivedAt) {
+        return new UpdateScope(receivedAt, TimeUnit.MILLISECONDS.toNanos(Long.getLong("bot.update.timeoutMs", 30_000L)));
+    }
+
+    long getReceivedAt() {
+        return receivedAt;
+    }
+
+    boolean isExpired() {
+        return timeoutNanos > 0 && remainingNanos() <= 0;
+    }
+
+    <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        if (timeoutNanos <= 0 || future.isDone()) {
+            return future;
+        }
+        long remaining = remainingNanos();
+        if (remaining <= 0) {
+            future.cancel(true);
+            return future;
+        }
+        ScheduledFuture<?> deadline = deadlines.schedule(() -> future.cancel(true), remaining, TimeUnit.NANOSECONDS);
+        future.whenComplete((value, failure) -> deadline.cancel(false));
+        return future;
+    }
+
+    private long remainingNanos() {
+        return receivedAt + timeoutNanos - System.nanoTime();
+    }
+}
@@ -9,20 +9,19 @@ public class CustomerAccounts {
     private int azn;
     private int usd;
     private int eur;
-    private LanguageElement languageElement;
 
     public String getAZNAccountsFromDB(String lang) {
-        languageElement = new LanguageElement(lang);
+        LanguageElement languageElement = LanguageElement.of(lang);
         return String.format((languageElement.accountsPropertiesAZNText).trim(), azn);
     }
 
     public String getUSDAccountsFromDB(String lang) {
-        languageElement = new LanguageElement(lang);
+        LanguageElement languageElement = LanguageElement.of(lang);
         return String.format(languageElement.accountsPropertiesUSDText.trim(), usd);
     }
 
     public String getEURAccountsFromDB(String lang) {
-        languageElement = new LanguageElement(lang);
+        LanguageElement languageElement = LanguageElement.of(lang);
         return String.format(languageElement.accountsPropertiesEURText.trim(), eur);
     }
 }
\ No newline at end of file
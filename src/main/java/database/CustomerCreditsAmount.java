@@ -8,15 +8,14 @@ public class CustomerCreditsAmount {
 
     private int totalCreditsAmountInAZN;
     private int totalCreditsAmountInUSD;
-    LanguageElement languageElement;
 
     public String getTotalCreditsAmountInAZN(String lang){
-        languageElement = new LanguageElement(lang);
+        LanguageElement languageElement = LanguageElement.of(lang);
         return String.format(languageElement.creditsPropertiesAZNText.trim(), totalCreditsAmountInAZN);
     }
 
     public String getTotalCreditsAmountInUSD(String lang){
-        languageElement = new LanguageElement(lang);
+        LanguageElement languageElement = LanguageElement.of(lang);
         return String.format(languageElement.creditsPropertiesUSDText.trim(), totalCreditsAmountInUSD);
     }
 }
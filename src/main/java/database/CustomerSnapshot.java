@@ -0,0 +1,13 @@
+package database;
+
+import lombok.Value;
+
+@Value
+public class CustomerSnapshot {
+
+    public static final CustomerSnapshot UNKNOWN = new CustomerSnapshot(null, null, null);
+
+    CustomerInfo info;
+    CustomerAccounts accounts;
+    CustomerCreditsAmount credits;
+}
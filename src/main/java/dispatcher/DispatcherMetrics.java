@@ -0,0 +1,77 @@
+package dispatcher;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class DispatcherMetrics {
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    void queued() {
+        dispatched.increment();
+        queueDepth.incrementAndGet();
+    }
+
+    void rejected() {
+        dispatched.decrement();
+        queueDepth.decrementAndGet();
+        rejected.increment();
+    }
+
+    void started(long waitNanos) {
+        queueDepth.decrementAndGet();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+    }
+
+    void completed() {
+        completed.increment();
+    }
+
+    void failed() {
+        failed.increment();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getDispatched() {
+        return dispatched.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    public double getAverageWaitMillis() {
+        long started = dispatched.sum() - queueDepth.get();
+        return started == 0 ? 0 : totalWaitNanos.sum() / (started * 1_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("queueDepth=%d dispatched=%d completed=%d failed=%d rejected=%d avgWaitMs=%.2f maxWaitMs=%d",
+                getQueueDepth(), getDispatched(), getCompleted(), getFailed(), getRejected(), getAverageWaitMillis(), getMaxWaitMillis());
+    }
+}
@@ -0,0 +1,174 @@
+package dispatcher;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UpdateDispatcher {
+
+    private static final int DEFAULT_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int DEFAULT_BACKLOG = 1000;
+
+    private final ExecutorService workers;
+    private final Semaphore backlog;
+    private final ConcurrentHashMap<Long, ChatQueue> chats = new ConcurrentHashMap<>();
+    private final DispatcherMetrics metrics = new DispatcherMetrics();
+
+    public UpdateDispatcher(int threads, int maxBacklog) {
+        if (threads < 1 || maxBacklog < 1) {
+            throw new IllegalArgumentException("threads and maxBacklog must be positive");
+        }
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new WorkerThreadFactory());
+        this.backlog = new Semaphore(maxBacklog);
+    }
+
+    public static UpdateDispatcher fromSystemProperties() {
+        return new UpdateDispatcher(
+                Integer.getInteger("bot.dispatcher.threads", DEFAULT_THREADS),
+                Integer.getInteger("bot.dispatcher.backlog", DEFAULT_BACKLOG));
+    }
+
+    public boolean dispatch(long chatId, Runnable task) {
+        try {
+            backlog.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        metrics.queued();
+
+        Task queued = new Task(task, System.nanoTime());
+        try {
+            ChatQueue queue;
+            do {
+                queue = chats.computeIfAbsent(chatId, ChatQueue::new);
+            } while (!queue.offer(queued));
+            return true;
+        } catch (RejectedExecutionException e) {
+            metrics.rejected();
+            backlog.release();
+            return false;
+        }
+    }
+
+    public DispatcherMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getActiveChats() {
+        return chats.size();
+    }
+
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void runTask(Task task) {
+        metrics.started(System.nanoTime() - task.enqueuedAt);
+        try {
+            task.runnable.run();
+        } catch (RuntimeException e) {
+            metrics.failed();
+            e.printStackTrace();
+        } finally {
+            metrics.completed();
+            backlog.release();
+        }
+    }
+
+    private final class ChatQueue implements Runnable {
+
+        private final long chatId;
+        private final Queue<Task> tasks = new ArrayDeque<>();
+        private boolean running;
+        private boolean retired;
+
+        private ChatQueue(long chatId) {
+            this.chatId = chatId;
+        }
+
+        private synchronized boolean offer(Task task) {
+            if (retired) {
+                return false;
+            }
+            if (!running) {
+                try {
+                    workers.execute(this);
+                } catch (RejectedExecutionException e) {
+                    retire();
+                    throw e;
+                }
+                running = true;
+            }
+            tasks.add(task);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            boolean inline = true;
+            while (inline) {
+                Task task;
+                synchronized (this) {
+                    task = tasks.poll();
+                }
+                try {
+                    if (task != null) {
+                        runTask(task);
+                    }
+                } finally {
+                    inline = reschedule();
+                }
+            }
+        }
+
+        private synchronized boolean reschedule() {
+            if (tasks.isEmpty()) {
+                running = false;
+                retire();
+                return false;
+            }
+            try {
+                workers.execute(this);
+                return false;
+            } catch (RejectedExecutionException e) {
+                return true;
+            }
+        }
+
+        private void retire() {
+            retired = true;
+            chats.remove(chatId, this);
+        }
+    }
+
+    private static final class Task {
+
+        private final Runnable runnable;
+        private final long enqueuedAt;
+
+        private Task(Runnable runnable, long enqueuedAt) {
+            this.runnable = runnable;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "update-worker-" + counter.incrementAndGet());
+        }
+    }
+}
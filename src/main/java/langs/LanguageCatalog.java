@@ -0,0 +1,161 @@
+package langs;
+
+import metrics.Metrics;
+import metrics.Stage;
+import metrics.Timer;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class LanguageCatalog {
+
+    private static final String RESOURCE = "/languages.xml";
+    private static final String[] LANGUAGES = {"az", "en", "ru"};
+    private static final long WATCH_SETTLE_MILLIS = 200;
+    private static final String DEFAULT_LANGUAGE = "az";
+    private static final Timer LOOKUP_TIMER = Metrics.timer(Stage.CATALOG, "lookup");
+    private static final Timer RELOAD_TIMER = Metrics.timer(Stage.CATALOG, "reload");
+
+    private static final AtomicReference<Snapshot> SNAPSHOT = new AtomicReference<>(loadInitial());
+    private static volatile Path source;
+
+    private LanguageCatalog() {
+    }
+
+    public static LanguageElement get(String lang) {
+        LanguageElement languageElement = SNAPSHOT.get().elements.get(lang == null ? DEFAULT_LANGUAGE : lang);
+        if (languageElement == null) {
+            LOOKUP_TIMER.error();
+            throw new IllegalArgumentException("Unsupported language: " + lang);
+        }
+        return languageElement;
+    }
+
+    public static long version() {
+        return SNAPSHOT.get().version;
+    }
+
+    public static synchronized boolean reload() {
+        long start = System.nanoTime();
+        Path file = source;
+        try {
+            Map<String, LanguageElement> elements;
+            if (file == null) {
+                elements = parseResource();
+            } else {
+                try (InputStream in = Files.newInputStream(file)) {
+                    elements = parse(in);
+                }
+            }
+            Snapshot current = SNAPSHOT.get();
+            SNAPSHOT.set(new Snapshot(current.version + 1, elements));
+            RELOAD_TIMER.recordSince(start);
+            return true;
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            RELOAD_TIMER.error();
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public static void watch(Path file) {
+        Path absolute = file.toAbsolutePath();
+        source = absolute;
+        reload();
+
+        Thread watcher = new Thread(() -> watchLoop(absolute), "language-catalog-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void watchLoop(Path file) {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    Thread.sleep(WATCH_SETTLE_MILLIS);
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static Snapshot loadInitial() {
+        try {
+            return new Snapshot(1, parseResource());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load " + RESOURCE, e);
+        }
+    }
+
+    private static Map<String, LanguageElement> parseResource() throws IOException {
+        try (InputStream in = LanguageCatalog.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " is not on the classpath");
+            }
+            return parse(in);
+        }
+    }
+
+    private static Map<String, LanguageElement> parse(InputStream in) throws IOException {
+        try {
+            DocumentBuilder db = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            Document doc = db.parse(in);
+            doc.getDocumentElement().normalize();
+
+            Map<String, LanguageElement> elements = new HashMap<>();
+            for (String lang : LANGUAGES) {
+                Element element = (Element) doc.getElementsByTagName(lang).item(0);
+                if (element == null) {
+                    throw new IllegalArgumentException("Missing <" + lang + "> section");
+                }
+                elements.put(lang, new LanguageElement(element));
+            }
+            return Map.copyOf(elements);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Cannot parse language catalog", e);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final Map<String, LanguageElement> elements;
+
+        private Snapshot(long version, Map<String, LanguageElement> elements) {
+            this.version = version;
+            this.elements = elements;
+        }
+    }
+}
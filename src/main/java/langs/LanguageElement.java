@@ -1,118 +1,116 @@
 package langs;
 
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.File;
-import java.io.IOException;
 
 public class LanguageElement {
 
-    public String startText = "Paşa Bank bot-a xoş gəlmişsiniz!\nDavam etmək üçün müvafiq dili seçin. \uD83D\uDE0A";
-    public String sharePhoneNumberText;
-    public String authenticationText;
-    public String accountsViewNameText;
-    public String creditsViewNameText;
-    public String welcomeText;
-    public String accountsPropertiesAZNText;
-    public String accountsPropertiesUSDText;
-    public String accountsPropertiesEURText;
-    public String creditsPropertiesAZNText;
-    public String creditsPropertiesUSDText;
-    public String noUserInformationAvailableText;
-    public String accountsTypesText;
-    public String creditsTypesText;
-    public String currencyRatesText;
-    public String currencyRates;
-    public String generalSettings;
-    public String languageText;
-    public String contactTheBank;
-    public String selectAction;
-    public String backFunction;
-    public String chooseTheLanguage;
-    public String bankPhoneNumbers;
-    public String bankBranches;
-    public String bankBakuBranchesViewNameText;
-    public String bankRegionalBranchesViewNameText;
-    public String bankBranchesChooseTypeText;
-//    public String bankNews;
+    public final String startText = "Paşa Bank bot-a xoş gəlmişsiniz!\nDavam etmək üçün müvafiq dili seçin. \uD83D\uDE0A";
+    public final String sharePhoneNumberText;
+    public final String authenticationText;
+    public final String accountsViewNameText;
+    public final String creditsViewNameText;
+    public final String welcomeText;
+    public final String accountsPropertiesAZNText;
+    public final String accountsPropertiesUSDText;
+    public final String accountsPropertiesEURText;
+    public final String creditsPropertiesAZNText;
+    public final String creditsPropertiesUSDText;
+    public final String noUserInformationAvailableText;
+    public final String accountsTypesText;
+    public final String creditsTypesText;
+    public final String currencyRatesText;
+    public final String currencyRates;
+    public final String currencyRatesUnavailableText;
+    public final String currencyRatesUpdatedText;
+    public final String generalSettings;
+    public final String languageText;
+    public final String contactTheBank;
+    public final String selectAction;
+    public final String backFunction;
+    public final String chooseTheLanguage;
+    public final String bankPhoneNumbers;
+    public final String bankBranches;
+    public final String bankBakuBranchesViewNameText;
+    public final String bankRegionalBranchesViewNameText;
+    public final String bankBranchesChooseTypeText;
+    public final String bankNews;
+    public final String bankNewsUnavailableText;
+    public final String serviceUnavailableText;
 
-    public String bakuHeadBranchAddress;
-    public String individualBankingAddress;
-    public String bridgePlazaAddress;
-    public String portBakuAddress;
-    public String landmarkAddress;
-    public String shuvalanAddress;
-    public String twentyEightAddress;
-    public String whiteCityAddress;
+    public final String bakuHeadBranchAddress;
+    public final String individualBankingAddress;
+    public final String bridgePlazaAddress;
+    public final String portBakuAddress;
+    public final String landmarkAddress;
+    public final String shuvalanAddress;
+    public final String twentyEightAddress;
+    public final String whiteCityAddress;
 
-    public String ganjaBranchAddress;
-    public String zagatalaBranchAddress;
-    public String gubaBranchAddress;
+    public final String ganjaBranchAddress;
+    public final String zagatalaBranchAddress;
+    public final String gubaBranchAddress;
 
-    public LanguageElement(String lang) {
-        try {
-            sharePhoneNumberText = getValue("SharePhoneNumberText", xmlParser(lang));
-            authenticationText = getValue("AuthenticationText", xmlParser(lang));
-            accountsViewNameText = getValue("AccountsViewNameText", xmlParser(lang));
-            creditsViewNameText = getValue("CreditsViewNameText", xmlParser(lang));
-            welcomeText = getValue("WelcomeText", xmlParser(lang));
-            accountsPropertiesAZNText = getValue("AccountsPropertiesAZNText", xmlParser(lang));
-            accountsPropertiesUSDText = getValue("AccountsPropertiesUSDText", xmlParser(lang));
-            accountsPropertiesEURText = getValue("AccountsPropertiesEURText", xmlParser(lang));
-            creditsPropertiesAZNText = getValue("CreditsPropertiesAZNText", xmlParser(lang));
-            creditsPropertiesUSDText = getValue("CreditsPropertiesUSDText", xmlParser(lang));
-            noUserInformationAvailableText = getValue("NoUserInformationAvailableText", xmlParser(lang));
-            accountsTypesText = getValue("AccountsTypesText", xmlParser(lang));
-            creditsTypesText = getValue("CreditsTypesText", xmlParser(lang));
-            currencyRatesText = getValue("CurrencyRatesText", xmlParser(lang));
-            generalSettings = getValue("GeneralSettings", xmlParser(lang));
-            currencyRates = getValue("CurrencyRates", xmlParser(lang));
-            languageText = getValue("LanguageText", xmlParser(lang));
-            contactTheBank = getValue("ContactTheBank", xmlParser(lang));
-            selectAction = getValue("SelectAction", xmlParser(lang));
-            backFunction = getValue("BackFunction", xmlParser(lang));
-            chooseTheLanguage = getValue("ChooseTheLanguage", xmlParser(lang));
-            bankPhoneNumbers = getValue("BankPhoneNumbers", xmlParser(lang));
-            bankBranches = getValue("BankBranches", xmlParser(lang));
-//            bankNews = getValue("BankNews", xmlParser(lang));
-            bankBakuBranchesViewNameText = getValue("BankBakuBranchesViewNameText",xmlParser(lang));
-            bankRegionalBranchesViewNameText = getValue("BankRegionalBranchesViewNameText", xmlParser(lang));
-            bankBranchesChooseTypeText = getValue("BankBranchesChooseTypeText", xmlParser(lang));
-            bakuHeadBranchAddress = getValue("BakuHeadBranchAddress", xmlParser(lang));
-            individualBankingAddress = getValue("IndividualBankingAddress", xmlParser(lang));
-            bridgePlazaAddress = getValue("BridgePlazaAddress", xmlParser(lang));
-            portBakuAddress = getValue("PortBakuAddress", xmlParser(lang));
-            landmarkAddress = getValue("LandmarkAddress", xmlParser(lang));
-            shuvalanAddress = getValue("ShuvalanAddress", xmlParser(lang));
-            twentyEightAddress = getValue("TwentyEightMayAddress", xmlParser(lang));
-            whiteCityAddress = getValue("WhiteCityAddress",xmlParser(lang));
-            ganjaBranchAddress = getValue("GanjaBranchAddress", xmlParser(lang));
-            zagatalaBranchAddress = getValue("ZagatalaBranchAddress", xmlParser(lang));
-            gubaBranchAddress = getValue("GubaBranchAddress", xmlParser(lang));
-        } catch (ParserConfigurationException | IOException | SAXException e) {
-            e.printStackTrace();
-        }
+    LanguageElement(Element element) {
+        sharePhoneNumberText = getValue("SharePhoneNumberText", element);
+        authenticationText = getValue("AuthenticationText", element);
+        accountsViewNameText = getValue("AccountsViewNameText", element);
+        creditsViewNameText = getValue("CreditsViewNameText", element);
+        welcomeText = getValue("WelcomeText", element);
+        accountsPropertiesAZNText = getValue("AccountsPropertiesAZNText", element);
+        accountsPropertiesUSDText = getValue("AccountsPropertiesUSDText", element);
+        accountsPropertiesEURText = getValue("AccountsPropertiesEURText", element);
+        creditsPropertiesAZNText = getValue("CreditsPropertiesAZNText", element);
+        creditsPropertiesUSDText = getValue("CreditsPropertiesUSDText", element);
+        noUserInformationAvailableText = getValue("NoUserInformationAvailableText", element);
+        accountsTypesText = getValue("AccountsTypesText", element);
+        creditsTypesText = getValue("CreditsTypesText", element);
+        currencyRatesText = getValue("CurrencyRatesText", element);
+        generalSettings = getValue("GeneralSettings", element);
+        currencyRates = getValue("CurrencyRates", element);
+        currencyRatesUnavailableText = getValue("CurrencyRatesUnavailableText", element);
+        currencyRatesUpdatedText = getValue("CurrencyRatesUpdatedText", element);
+        languageText = getValue("LanguageText", element);
+        contactTheBank = getValue("ContactTheBank", element);
+        selectAction = getValue("SelectAction", element);
+        backFunction = getValue("BackFunction", element);
+        chooseTheLanguage = getValue("ChooseTheLanguage", element);
+        bankPhoneNumbers = getValue("BankPhoneNumbers", element);
+        bankBranches = getValue("BankBranches", element);
+        bankNews = getValue("BankNews", element);
+        bankNewsUnavailableText = getValue("BankNewsUnavailableText", element);
+        serviceUnavailableText = getValue("ServiceUnavailableText", element);
+        bankBakuBranchesViewNameText = getValue("BankBakuBranchesViewNameText", element);
+        bankRegionalBranchesViewNameText = getValue("BankRegionalBranchesViewNameText", element);
+        bankBranchesChooseTypeText = getValue("BankBranchesChooseTypeText", element);
+        bakuHeadBranchAddress = getValue("BakuHeadBranchAddress", element);
+        individualBankingAddress = getValue("IndividualBankingAddress", element);
+        bridgePlazaAddress = getValue("BridgePlazaAddress", element);
+        portBakuAddress = getValue("PortBakuAddress", element);
+        landmarkAddress = getValue("LandmarkAddress", element);
+        shuvalanAddress = getValue("ShuvalanAddress", element);
+        twentyEightAddress = getValue("TwentyEightMayAddress", element);
+        whiteCityAddress = getValue("WhiteCityAddress", element);
+        ganjaBranchAddress = getValue("GanjaBranchAddress", element);
+        zagatalaBranchAddress = getValue("ZagatalaBranchAddress", element);
+        gubaBranchAddress = getValue("GubaBranchAddress", element);
     }
 
-    private Element xmlParser(String language) throws ParserConfigurationException, IOException, SAXException {
-        File file = new File("src/main/resources/languages.xml");
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        DocumentBuilder db = dbf.newDocumentBuilder();
-        Document doc = db.parse(file);
-        doc.getDocumentElement().normalize();
-        return (Element) doc.getElementsByTagName(language).item(0);
+    public static LanguageElement of(String lang) {
+        return LanguageCatalog.get(lang);
     }
 
     private static String getValue(String tag, Element element) {
-        NodeList nodes = element.getElementsByTagName(tag).item(0).getChildNodes();
+        Node tagNode = element.getElementsByTagName(tag).item(0);
+        if (tagNode == null) {
+            throw new IllegalArgumentException("Missing <" + tag + "> in <" + element.getTagName() + ">");
+        }
+        NodeList nodes = tagNode.getChildNodes();
         Node node = nodes.item(0);
+        if (node == null || node.getNodeValue() == null || node.getNodeValue().isBlank()) {
+            throw new IllegalArgumentException("Empty <" + tag + "> in <" + element.getTagName() + ">");
+        }
         return node.getNodeValue();
     }
 }
\ No newline at end of file
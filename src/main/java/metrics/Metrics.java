@@ -0,0 +1,83 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public final class Metrics {
+
+    public static final String NONE = "-";
+
+    private static final ConcurrentHashMap<Key, Timer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<?>> gauges = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public static Timer timer(Stage stage, String name, String lang) {
+        Key key = new Key(stage, name == null ? NONE : name, lang == null ? NONE : lang);
+        Timer timer = timers.get(key);
+        return timer != null ? timer : timers.computeIfAbsent(key, k -> new Timer(k.stage, k.name, k.lang));
+    }
+
+    public static Timer timer(Stage stage, String name) {
+        return timer(stage, name, NONE);
+    }
+
+    public static void register(String name, Supplier<?> gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public static Collection<Timer> timers() {
+        List<Timer> sorted = new ArrayList<>(timers.values());
+        sorted.sort((a, b) -> {
+            int byStage = a.getStage().compareTo(b.getStage());
+            if (byStage != 0) {
+                return byStage;
+            }
+            int byName = a.getName().compareTo(b.getName());
+            return byName != 0 ? byName : a.getLang().compareTo(b.getLang());
+        });
+        return sorted;
+    }
+
+    public static Map<String, Supplier<?>> gauges() {
+        return gauges;
+    }
+
+    private static final class Key {
+
+        private final Stage stage;
+        private final String name;
+        private final String lang;
+        private final int hash;
+
+        private Key(Stage stage, String name, String lang) {
+            this.stage = stage;
+            this.name = name;
+            this.lang = lang;
+            this.hash = Objects.hash(stage, name, lang);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return stage == key.stage && name.equals(key.name) && lang.equals(key.lang);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
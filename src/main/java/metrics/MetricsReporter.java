@@ -0,0 +1,104 @@
+package metrics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public final class MetricsReporter {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] QUANTILES = {"0.5", "0.9", "0.99", "0.999"};
+
+    private MetricsReporter() {
+    }
+
+    public static void startFromSystemProperties() {
+        long logSeconds = Long.getLong("metrics.logSeconds", 60L);
+        if (logSeconds > 0) {
+            startLogDump(logSeconds, TimeUnit.SECONDS);
+        }
+        Integer port = Integer.getInteger("metrics.port");
+        if (port != null) {
+            try {
+                startHttp(new InetSocketAddress(System.getProperty("metrics.host", "127.0.0.1"), port));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public static void startLogDump(long period, TimeUnit unit) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(MetricsReporter::report, period, period, unit);
+    }
+
+    public static void report() {
+        System.out.print(dump());
+    }
+
+    public static HttpServer startHttp(InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        return server;
+    }
+
+    public static String dump() {
+        StringBuilder builder = new StringBuilder("Metrics:\n");
+        for (Timer timer : Metrics.timers()) {
+            if (timer.getHistogram().getCount() > 0 || timer.getErrors() > 0) {
+                builder.append("  ").append(timer).append('\n');
+            }
+        }
+        for (Map.Entry<String, Supplier<?>> gauge : Metrics.gauges().entrySet()) {
+            builder.append("  ").append(gauge.getKey()).append(": ").append(gauge.getValue().get()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    public static String scrape() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("# TYPE bot_stage_latency_seconds summary\n");
+        for (Timer timer : Metrics.timers()) {
+            LatencyHistogram histogram = timer.getHistogram();
+            String labels = "stage=\"" + timer.getStage().name().toLowerCase() + "\",name=\"" + timer.getName()
+                    + "\",lang=\"" + timer.getLang() + "\"";
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                builder.append("bot_stage_latency_seconds{").append(labels)
+                        .append(",quantile=\"").append(QUANTILES[i]).append("\"} ")
+                        .append(histogram.getPercentileNanos(PERCENTILES[i]) / 1e9).append('\n');
+            }
+            builder.append("bot_stage_latency_seconds_count{").append(labels).append("} ")
+                    .append(histogram.getCount()).append('\n');
+            builder.append("bot_stage_latency_seconds_sum{").append(labels).append("} ")
+                    .append(histogram.getMeanNanos() * histogram.getCount() / 1e9).append('\n');
+            builder.append("bot_stage_errors_total{").append(labels).append("} ")
+                    .append(timer.getErrors()).append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,11 @@
+package metrics;
+
+public enum Stage {
+    RECEIVE,
+    SESSION,
+    CATALOG,
+    HANDLER,
+    CUSTOMER_API,
+    SCRAPE,
+    TELEGRAM
+}
@@ -0,0 +1,58 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Timer {
+
+    private final Stage stage;
+    private final String name;
+    private final String lang;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    Timer(Stage stage, String name, String lang) {
+        this.stage = stage;
+        this.name = name;
+        this.lang = lang;
+    }
+
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    public void recordSince(long startedAt) {
+        histogram.record(System.nanoTime() - startedAt);
+    }
+
+    public void error() {
+        errors.increment();
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLang() {
+        return lang;
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s name=%s lang=%s count=%d errors=%d meanUs=%.1f p50Us=%.1f p99Us=%.1f maxUs=%.1f",
+                stage, name, lang, histogram.getCount(), getErrors(), histogram.getMeanNanos() / 1_000.0,
+                histogram.getPercentileNanos(50) / 1_000.0, histogram.getPercentileNanos(99) / 1_000.0,
+                histogram.getMaxNanos() / 1_000.0);
+    }
+}
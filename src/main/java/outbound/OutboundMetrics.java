@@ -0,0 +1,98 @@
+package outbound;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OutboundMetrics {
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder totalThrottleNanos = new LongAdder();
+    private final LongAccumulator maxThrottleNanos = new LongAccumulator(Math::max, 0);
+
+    void queued() {
+        submitted.increment();
+        queueDepth.incrementAndGet();
+    }
+
+    void requeued() {
+        queueDepth.incrementAndGet();
+    }
+
+    void dequeued() {
+        queueDepth.decrementAndGet();
+    }
+
+    void sent() {
+        sent.increment();
+    }
+
+    void failed() {
+        failed.increment();
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void rateLimited() {
+        rateLimited.increment();
+    }
+
+    void throttled(long delayNanos) {
+        throttled.increment();
+        totalThrottleNanos.add(delayNanos);
+        maxThrottleNanos.accumulate(delayNanos);
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    public long getMaxThrottleMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxThrottleNanos.get());
+    }
+
+    public double getAverageThrottleMillis() {
+        long count = throttled.sum();
+        return count == 0 ? 0 : totalThrottleNanos.sum() / (count * 1_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("queueDepth=%d submitted=%d sent=%d failed=%d dropped=%d rateLimited=%d throttled=%d avgThrottleMs=%.2f maxThrottleMs=%d",
+                getQueueDepth(), getSubmitted(), getSent(), getFailed(), getDropped(), getRateLimited(), getThrottled(),
+                getAverageThrottleMillis(), getMaxThrottleMillis());
+    }
+}
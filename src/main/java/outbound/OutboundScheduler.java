@@ -0,0 +1,322 @@
+package outbound;
+
+import metrics.Metrics;
+import metrics.Stage;
+import metrics.Timer;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.objects.ResponseParameters;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OutboundScheduler {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int DEFAULT_RETRY_AFTER_SECONDS = 1;
+
+    private final Sender sender;
+    private final TokenBucket globalBucket;
+    private final double chatPerSecond;
+    private final int chatBurst;
+    private final int maxQueue;
+    private final int maxAttempts;
+    private final Thread[] workers;
+    private final ScheduledExecutorService timer;
+    private final PriorityBlockingQueue<Ticket> ready = new PriorityBlockingQueue<>();
+    private final ConcurrentHashMap<Long, ChatLane> lanes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final OutboundMetrics metrics = new OutboundMetrics();
+    private volatile boolean running = true;
+
+    public OutboundScheduler(Sender sender, int threads, double globalPerSecond, double chatPerSecond, int chatBurst,
+                             int maxQueue, int maxAttempts) {
+        if (threads < 1 || maxQueue < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("threads, maxQueue and maxAttempts must be positive");
+        }
+        this.sender = sender;
+        this.globalBucket = new TokenBucket(globalPerSecond, (int) Math.max(1, globalPerSecond));
+        this.chatPerSecond = chatPerSecond;
+        this.chatBurst = chatBurst;
+        this.maxQueue = maxQueue;
+        this.maxAttempts = maxAttempts;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbound-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.scheduleWithFixedDelay(this::sweep, 30, 30, TimeUnit.SECONDS);
+
+        ThreadFactory threadFactory = new WorkerThreadFactory();
+        this.workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = threadFactory.newThread(this::work);
+            workers[i].start();
+        }
+    }
+
+    public static OutboundScheduler fromSystemProperties(Sender sender) {
+        return new OutboundScheduler(sender,
+                Integer.getInteger("bot.outbound.threads", 8),
+                Double.parseDouble(System.getProperty("bot.outbound.globalPerSecond", "30")),
+                Double.parseDouble(System.getProperty("bot.outbound.chatPerSecond", "1")),
+                Integer.getInteger("bot.outbound.chatBurst", 3),
+                Integer.getInteger("bot.outbound.maxQueue", 10000),
+                Integer.getInteger("bot.outbound.maxAttempts", 3));
+    }
+
+    public boolean submit(long chatId, BotApiMethod<?> method, SendPriority priority) {
+        if (!running || metrics.getQueueDepth() >= maxQueue) {
+            metrics.dropped();
+            return false;
+        }
+        Outgoing outgoing = new Outgoing(method, priority);
+        ChatLane lane;
+        do {
+            lane = lanes.computeIfAbsent(chatId, ChatLane::new);
+        } while (!lane.offer(outgoing));
+        return true;
+    }
+
+    public OutboundMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getActiveChats() {
+        return lanes.size();
+    }
+
+    public void shutdown() {
+        running = false;
+        timer.shutdownNow();
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    private void work() {
+        while (running) {
+            Ticket ticket;
+            try {
+                ticket = ready.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            ChatLane lane = ticket.lane;
+            long delay = lane.nanosUntilReady(System.nanoTime());
+            if (delay > 0) {
+                if (!running) {
+                    return;
+                }
+                metrics.throttled(delay);
+                timer.schedule(() -> ready.add(lane.ticket()), delay, TimeUnit.NANOSECONDS);
+                continue;
+            }
+            long globalDelay = globalBucket.reserve(System.nanoTime());
+            if (globalDelay > 0) {
+                metrics.throttled(globalDelay);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(globalDelay);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            Outgoing outgoing = lane.take();
+            try {
+                if (outgoing != null) {
+                    send(lane, outgoing);
+                }
+            } finally {
+                lane.finished();
+            }
+        }
+    }
+
+    private void send(ChatLane lane, Outgoing outgoing) {
+        Timer timer = Metrics.timer(Stage.TELEGRAM, outgoing.method.getMethod());
+        long start = System.nanoTime();
+        try {
+            sender.send(outgoing.method);
+            metrics.sent();
+            timer.recordSince(start);
+        } catch (TelegramApiRequestException e) {
+            timer.recordSince(start);
+            timer.error();
+            if (e.getErrorCode() != null && e.getErrorCode() == TOO_MANY_REQUESTS) {
+                metrics.rateLimited();
+                lane.blockFor(retryAfterSeconds(e.getParameters()));
+                if (outgoing.attempts < maxAttempts) {
+                    lane.retry(outgoing);
+                    return;
+                }
+                metrics.dropped();
+                return;
+            }
+            metrics.failed();
+            e.printStackTrace();
+        } catch (TelegramApiException | RuntimeException e) {
+            timer.recordSince(start);
+            timer.error();
+            metrics.failed();
+            e.printStackTrace();
+        }
+    }
+
+    private static int retryAfterSeconds(ResponseParameters parameters) {
+        if (parameters == null || parameters.getRetryAfter() == null) {
+            return DEFAULT_RETRY_AFTER_SECONDS;
+        }
+        return Math.max(DEFAULT_RETRY_AFTER_SECONDS, parameters.getRetryAfter());
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        for (ChatLane lane : lanes.values()) {
+            lane.retireIfIdle(now);
+        }
+    }
+
+    private final class ChatLane {
+
+        private final long chatId;
+        private final Deque<Outgoing> pending = new ArrayDeque<>();
+        private final TokenBucket bucket = new TokenBucket(chatPerSecond, chatBurst);
+        private long blockedUntil;
+        private boolean active;
+        private boolean retired;
+
+        private ChatLane(long chatId) {
+            this.chatId = chatId;
+        }
+
+        private synchronized boolean offer(Outgoing outgoing) {
+            if (retired) {
+                return false;
+            }
+            if (outgoing.priority == SendPriority.TYPING && !pending.isEmpty()) {
+                metrics.dropped();
+                return true;
+            }
+            if (outgoing.priority == SendPriority.REPLY) {
+                dropPendingTyping();
+            }
+            pending.add(outgoing);
+            metrics.queued();
+            if (!active) {
+                active = true;
+                ready.add(ticket());
+            }
+            return true;
+        }
+
+        private void dropPendingTyping() {
+            Iterator<Outgoing> iterator = pending.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().priority == SendPriority.TYPING) {
+                    iterator.remove();
+                    metrics.dequeued();
+                    metrics.dropped();
+                }
+            }
+        }
+
+        private synchronized Ticket ticket() {
+            Outgoing head = pending.peek();
+            SendPriority priority = head == null ? SendPriority.TYPING : head.priority;
+            return new Ticket(this, priority, sequence.incrementAndGet());
+        }
+
+        private synchronized long nanosUntilReady(long now) {
+            long blocked = blockedUntil - now;
+            long wait = bucket.nanosUntilAvailable(now);
+            return Math.max(Math.max(blocked, 0), wait);
+        }
+
+        private synchronized Outgoing take() {
+            Outgoing outgoing = pending.poll();
+            if (outgoing != null) {
+                metrics.dequeued();
+                bucket.reserve(System.nanoTime());
+                outgoing.attempts++;
+            }
+            return outgoing;
+        }
+
+        private synchronized void retry(Outgoing outgoing) {
+            pending.addFirst(outgoing);
+            metrics.requeued();
+        }
+
+        private synchronized void blockFor(int seconds) {
+            blockedUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        }
+
+        private synchronized void finished() {
+            if (pending.isEmpty() || !running) {
+                active = false;
+            } else {
+                ready.add(ticket());
+            }
+        }
+
+        private synchronized void retireIfIdle(long now) {
+            if (!active && pending.isEmpty() && blockedUntil - now <= 0 && bucket.isFull(now)) {
+                retired = true;
+                lanes.remove(chatId, this);
+            }
+        }
+    }
+
+    private static final class Outgoing {
+
+        private final BotApiMethod<?> method;
+        private final SendPriority priority;
+        private int attempts;
+
+        private Outgoing(BotApiMethod<?> method, SendPriority priority) {
+            this.method = method;
+            this.priority = priority;
+        }
+    }
+
+    private static final class Ticket implements Comparable<Ticket> {
+
+        private final ChatLane lane;
+        private final SendPriority priority;
+        private final long sequence;
+
+        private Ticket(ChatLane lane, SendPriority priority, long sequence) {
+            this.lane = lane;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Ticket other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "outbound-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package outbound;
+
+public enum SendPriority {
+    REPLY,
+    TYPING
+}
@@ -0,0 +1,9 @@
+package outbound;
+
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+
+public interface Sender {
+
+    void send(BotApiMethod<?> method) throws TelegramApiException;
+}
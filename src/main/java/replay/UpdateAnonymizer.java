@@ -0,0 +1,164 @@
+package replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class UpdateAnonymizer {
+
+    private static final long CHAT_ID_MASK = (1L << 52) - 1;
+    private static final int KEPT_PHONE_DIGITS = 5;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Pattern PHONE_LIKE = Pattern.compile("\\+?\\d(?:[ ().-]?\\d){6,}");
+
+    private final ThreadLocal<Mac> macs;
+
+    UpdateAnonymizer(byte[] key) {
+        if (key.length == 0) {
+            throw new IllegalArgumentException("Anonymization key must not be empty");
+        }
+        SecretKeySpec spec = new SecretKeySpec(key, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(spec);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        macs.get();
+    }
+
+    ObjectNode anonymize(ObjectNode update) {
+        walk(null, update);
+        return update;
+    }
+
+    private void walk(String name, JsonNode node) {
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                walk(name, element);
+            }
+            return;
+        }
+        if (!node.isObject()) {
+            return;
+        }
+        ObjectNode object = (ObjectNode) node;
+        if ("chat".equals(name)) {
+            replaceId(object, "id", true);
+            anonymizeNames(object);
+        } else if ("from".equals(name) || "forward_from".equals(name) || "user".equals(name)) {
+            replaceId(object, "id", false);
+            anonymizeNames(object);
+        } else if ("contact".equals(name)) {
+            replaceId(object, "user_id", false);
+            anonymizeNames(object);
+            object.remove("vcard");
+            JsonNode phone = object.get("phone_number");
+            if (phone != null && phone.isTextual()) {
+                object.put("phone_number", phone(phone.asText()));
+            }
+        }
+        JsonNode chatInstance = object.get("chat_instance");
+        if (chatInstance != null && chatInstance.isTextual()) {
+            object.put("chat_instance", Long.toString(hmac("chat_instance", chatInstance.asText()) & CHAT_ID_MASK));
+        }
+        scrub(object, "text");
+        scrub(object, "caption");
+        scrub(object, "data");
+        Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            walk(field.getKey(), field.getValue());
+        }
+    }
+
+    private void replaceId(ObjectNode object, String field, boolean chat) {
+        JsonNode id = object.get(field);
+        if (id == null || !id.isNumber()) {
+            return;
+        }
+        if (chat) {
+            long value = id.asLong();
+            long anonymized = (hmac("chat", Long.toString(value)) & CHAT_ID_MASK) + 1;
+            object.put(field, value < 0 ? -anonymized : anonymized);
+        } else {
+            object.put(field, (int) Long.remainderUnsigned(hmac("user", id.asText()), Integer.MAX_VALUE) + 1);
+        }
+    }
+
+    private static void anonymizeNames(ObjectNode object) {
+        if (object.has("first_name")) {
+            object.put("first_name", "User");
+        }
+        object.remove("last_name");
+        object.remove("username");
+        object.remove("title");
+    }
+
+    private void scrub(ObjectNode object, String field) {
+        JsonNode value = object.get(field);
+        if (value == null || !value.isTextual()) {
+            return;
+        }
+        Matcher matcher = PHONE_LIKE.matcher(value.asText());
+        if (!matcher.find()) {
+            return;
+        }
+        StringBuilder scrubbed = new StringBuilder();
+        do {
+            matcher.appendReplacement(scrubbed, Matcher.quoteReplacement(digits(matcher.group(), 0)));
+        } while (matcher.find());
+        matcher.appendTail(scrubbed);
+        object.put(field, scrubbed.toString());
+    }
+
+    private String phone(String phone) {
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.length() <= KEPT_PHONE_DIGITS) {
+            return phone;
+        }
+        return digits(phone, KEPT_PHONE_DIGITS);
+    }
+
+    private String digits(String text, int kept) {
+        String digits = text.replaceAll("\\D", "");
+        byte[] hash = hmacBytes("digits", digits);
+        StringBuilder result = new StringBuilder(text.length());
+        int seen = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9' || seen < kept) {
+                result.append(c);
+            } else {
+                result.append((char) ('0' + (hash[seen % hash.length] & 0xFF) % 10));
+            }
+            if (c >= '0' && c <= '9') {
+                seen++;
+            }
+        }
+        return result.toString();
+    }
+
+    private long hmac(String domain, String value) {
+        return ByteBuffer.wrap(hmacBytes(domain, value)).getLong();
+    }
+
+    private byte[] hmacBytes(String domain, String value) {
+        Mac mac = macs.get();
+        mac.update(domain.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,118 @@
+package replay;
+
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class UpdateLogReader implements Closeable {
+
+    private static final long WINDOW_BYTES = Long.getLong("replay.windowBytes", 256L << 20);
+    private static final int MAX_RECORD_HEADER_BYTES = 20;
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private byte[] payload = new byte[4096];
+    private int payloadLength;
+    private long offsetMicros;
+    private long records;
+
+    public UpdateLogReader(Path file) throws IOException {
+        checkHeader(file);
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        map(UpdateLog.HEADER_BYTES);
+    }
+
+    static void checkHeader(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            DataInputStream header = new DataInputStream(in);
+            if (header.readInt() != UpdateLog.MAGIC) {
+                throw new IOException(file + " is not an update log");
+            }
+            byte version = header.readByte();
+            if (version != UpdateLog.VERSION) {
+                throw new IOException(file + " has unsupported update log version " + version);
+            }
+        }
+    }
+
+    public boolean next() throws IOException {
+        long position = windowStart + window.position();
+        if (position >= size) {
+            return false;
+        }
+        if (window.remaining() < MAX_RECORD_HEADER_BYTES && windowStart + window.limit() < size) {
+            map(position);
+        }
+        int start = window.position();
+        long deltaMicros;
+        int length;
+        try {
+            deltaMicros = UpdateLog.readVarLong(window);
+            length = (int) UpdateLog.readVarLong(window);
+        } catch (BufferUnderflowException e) {
+            window.position(start);
+            return false;
+        }
+        if (length < 0 || length > UpdateLog.MAX_RECORD_BYTES) {
+            throw new IOException("Corrupt record length " + length + " at " + position);
+        }
+        if (window.remaining() < length) {
+            if (windowStart + window.limit() >= size) {
+                window.position(start);
+                return false;
+            }
+            map(position);
+            return next();
+        }
+        if (payload.length < length) {
+            payload = new byte[Math.max(length, payload.length * 2)];
+        }
+        window.get(payload, 0, length);
+        payloadLength = length;
+        offsetMicros += deltaMicros;
+        records++;
+        return true;
+    }
+
+    public Update update() throws IOException {
+        return UpdateLog.UPDATE_READER.readValue(payload, 0, payloadLength);
+    }
+
+    public long getOffsetMicros() {
+        return offsetMicros;
+    }
+
+    public int getPayloadLength() {
+        return payloadLength;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_BYTES, size - position));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
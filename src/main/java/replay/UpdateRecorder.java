@@ -0,0 +1,151 @@
+package replay;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class UpdateRecorder implements Closeable {
+
+    private final Path file;
+    private final UpdateAnonymizer anonymizer;
+    private final OutputStream out;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(1024);
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "update-recorder-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastRecordedAt;
+    private long recorded;
+    private long skipped;
+    private long bytes;
+    private boolean closed;
+
+    public UpdateRecorder(Path file, byte[] key) throws IOException {
+        this.file = file;
+        this.anonymizer = new UpdateAnonymizer(key);
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        this.out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND), 1 << 16);
+        if (fresh) {
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(UpdateLog.MAGIC);
+            header.writeByte(UpdateLog.VERSION);
+        } else {
+            UpdateLogReader.checkHeader(file);
+        }
+        flusher.scheduleWithFixedDelay(this::flush, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public static UpdateRecorder fromSystemProperties() {
+        String file = System.getProperty("bot.capture.file");
+        if (file == null) {
+            return null;
+        }
+        String salt = System.getProperty("bot.capture.salt");
+        try {
+            Path path = Paths.get(file);
+            byte[] key;
+            if (salt == null || salt.isEmpty()) {
+                key = new byte[32];
+                new SecureRandom().nextBytes(key);
+                path = unusedPath(path);
+            } else {
+                key = salt.getBytes(StandardCharsets.UTF_8);
+            }
+            return new UpdateRecorder(path, key);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static Path unusedPath(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return file;
+        }
+        Path fresh = file.resolveSibling(file.getFileName() + "." + System.currentTimeMillis());
+        System.out.println("bot.capture.salt is not set, recording to " + fresh + " instead of appending to " + file);
+        return fresh;
+    }
+
+    public void record(Update update) {
+        long now = System.nanoTime();
+        byte[] payload;
+        try {
+            ObjectNode tree = UpdateLog.MAPPER.valueToTree(update);
+            payload = UpdateLog.MAPPER.writeValueAsBytes(anonymizer.anonymize(tree));
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            synchronized (this) {
+                skipped++;
+            }
+            return;
+        }
+        synchronized (this) {
+            if (closed || payload.length > UpdateLog.MAX_RECORD_BYTES) {
+                skipped++;
+                return;
+            }
+            long deltaMicros = recorded == 0 ? 0 : Math.max(0, TimeUnit.NANOSECONDS.toMicros(now - lastRecordedAt));
+            lastRecordedAt = now;
+            try {
+                record.reset();
+                UpdateLog.writeVarLong(record, deltaMicros);
+                UpdateLog.writeVarLong(record, payload.length);
+                record.write(payload);
+                record.writeTo(out);
+                recorded++;
+                bytes += record.size();
+            } catch (IOException e) {
+                skipped++;
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flusher.shutdown();
+        try {
+            out.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("file=%s recorded=%d skipped=%d bytes=%d", file, recorded, skipped, bytes);
+    }
+}
@@ -1,9 +1,20 @@
 package starter;
 
 import config.BotConfig;
+import langs.LanguageCatalog;
+import metrics.MetricsReporter;
 import org.telegram.telegrambots.ApiContextInitializer;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
+import org.telegram.telegrambots.meta.ApiContext;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.util.WebhookUtils;
+import webclient.BankNewsFeed;
+import webclient.CurrencyRatesService;
+import webhook.WebhookServer;
+
+import java.io.IOException;
+import java.nio.file.Paths;
 
 public class Main {
 
@@ -12,12 +23,59 @@ public class Main {
 
     public static void main(String[] args) {
 
+        String languagesFile = System.getProperty("languages.file");
+        if (languagesFile != null) {
+            LanguageCatalog.watch(Paths.get(languagesFile));
+        }
+
+        MetricsReporter.startFromSystemProperties();
+        CurrencyRatesService.start();
+        BankNewsFeed.start();
+
         ApiContextInitializer.init();
+        if ("webhook".equals(System.getProperty("bot.mode"))) {
+            startWebhook(new BotConfig(botOptions()));
+            return;
+        }
         TelegramBotsApi botsApi = new TelegramBotsApi();
         try {
-            botsApi.registerBot(new BotConfig());
+            botsApi.registerBot(new BotConfig(botOptions()));
         } catch (TelegramApiException e) {
             e.printStackTrace();
         }
     }
+
+    public static DefaultBotOptions botOptions() {
+        DefaultBotOptions options = ApiContext.getInstance(DefaultBotOptions.class);
+        String baseUrl = System.getProperty("bot.api.url");
+        if (baseUrl != null) {
+            options.setBaseUrl(baseUrl);
+        }
+        return options;
+    }
+
+    private static void startWebhook(BotConfig bot) {
+        try {
+            WebhookServer server = WebhookServer.fromSystemProperties(bot::onUpdateReceived);
+            server.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop(1);
+                bot.onClosing();
+                System.out.println("Webhook: " + server);
+            }));
+            System.out.println("Webhook listening on " + server.getAddress());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        String webhookUrl = System.getProperty("bot.webhook.url");
+        if (webhookUrl != null) {
+            try {
+                WebhookUtils.setWebhook(bot, webhookUrl, null);
+            } catch (TelegramApiException e) {
+                e.printStackTrace();
+            }
+        }
+    }
 }
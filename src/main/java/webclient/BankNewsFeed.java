@@ -0,0 +1,107 @@
+package webclient;
+
+import langs.LanguageElement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class BankNewsFeed {
+
+    private static final String[] LANGUAGES = {"az", "en", "ru"};
+    private static final int NEWS_COUNT = Integer.getInteger("news.count", 3);
+    private static final long REFRESH_MINUTES = Long.getLong("news.refreshMinutes", 10L);
+
+    private static final Map<String, AtomicReference<Feed>> FEEDS = Map.of(
+            "az", new AtomicReference<>(),
+            "en", new AtomicReference<>(),
+            "ru", new AtomicReference<>());
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bank-news-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile boolean started;
+
+    private BankNewsFeed() {
+    }
+
+    public static synchronized void start() {
+        if (!started) {
+            started = true;
+            SCHEDULER.scheduleWithFixedDelay(BankNewsFeed::refreshAll, 0, REFRESH_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    public static String render(String lang) {
+        Feed feed = FEEDS.get(lang).get();
+        if (feed == null) {
+            return LanguageElement.of(lang).bankNewsUnavailableText.trim();
+        }
+        return feed.markdown;
+    }
+
+    private static void refreshAll() {
+        for (String lang : LANGUAGES) {
+            try {
+                refresh(lang);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static void refresh(String lang) throws Exception {
+        AtomicReference<Feed> reference = FEEDS.get(lang);
+        Feed current = reference.get();
+        PageFetcher.Page<List<String>> page = current == null
+                ? BankNews.fetch(lang, NEWS_COUNT, null, null)
+                : BankNews.fetch(lang, NEWS_COUNT, current.etag, current.lastModified);
+        if (page.isNotModified()) {
+            return;
+        }
+        List<String> items = List.copyOf(page.getContent());
+        if (items.isEmpty()) {
+            throw new IllegalStateException("No news items found for " + lang);
+        }
+        reference.set(new Feed(toMarkdown(lang, items), page.getEtag(), page.getLastModified()));
+    }
+
+    private static String toMarkdown(String lang, List<String> items) {
+        StringBuilder markdown = new StringBuilder();
+        markdown.append("📰 *").append(stripMarkdown(LanguageElement.of(lang).bankNews.trim())).append('*');
+        for (String item : items) {
+            String[] lines = item.split("\n");
+            markdown.append("\n\n*").append(stripMarkdown(lines[0])).append('*');
+            for (int i = 1; i < lines.length; i++) {
+                markdown.append('\n').append(escapeMarkdown(lines[i]));
+            }
+        }
+        return markdown.toString();
+    }
+
+    private static String stripMarkdown(String text) {
+        return text.replaceAll("[_*`\\[]", "");
+    }
+
+    private static String escapeMarkdown(String text) {
+        return text.replaceAll("([_*`\\[])", "\\\\$1");
+    }
+
+    private static final class Feed {
+
+        private final String markdown;
+        private final String etag;
+        private final String lastModified;
+
+        private Feed(String markdown, String etag, String lastModified) {
+            this.markdown = markdown;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -1,44 +1,34 @@
 package webclient;
 
-import com.gargoylesoftware.htmlunit.WebClient;
-import com.gargoylesoftware.htmlunit.html.HtmlPage;
-import com.gargoylesoftware.htmlunit.html.HtmlTable;
-
 import java.io.IOException;
-import java.util.Objects;
+import java.time.Instant;
+import java.util.List;
 
 public class CurrencyRatesContent {
 
-   private WebClient webClient = new WebClient();
-   {
-      webClient.getOptions().setJavaScriptEnabled(false);
-      webClient.getOptions().setCssEnabled(false);
-   }
-    private HtmlPage page;
-
-   {
-      try {
-         page = webClient.getPage("https://www.pashabank.az/exchange_valyuta_azn_currency_rate/lang,az/");
-
-      } catch (IOException e) {
-         e.printStackTrace();
-      }
-   }
-
-   private HtmlTable table = (HtmlTable) Objects.requireNonNull(page).getByXPath("//table[@class='currency_top currency_prices']").get(1);
-
-    public String USD_Buy = table.getCellAt(1, 1).asText();
-    public String USD_Sell = table.getCellAt(1, 2).asText();
-
-    public String EUR_Buy = table.getCellAt(2, 1).asText();
-    public String EUR_Sell = table.getCellAt(2, 2).asText();
-
-    public String GBP_Buy = table.getCellAt(3, 1).asText();
-    public String GBP_Sell = table.getCellAt(3, 2).asText();
-
-    public String RUB_Buy = table.getCellAt(4, 1).asText();
-    public String RUB_Sell = table.getCellAt(4, 2).asText();
-
-    public String TRY_Buy = table.getCellAt(5, 1).asText();
-    public String TRY_Sell = table.getCellAt(5, 2).asText();
+    private static final String RATES_URL = System.getProperty("rates.url",
+            "https://www.pashabank.az/exchange_valyuta_azn_currency_rate/lang,az/");
+    private static final String RATES_TABLE_CLASS = "currency_top currency_prices";
+    private static final int CURRENCIES = 5;
+
+    static CurrencyRatesSnapshot fetch() throws IOException {
+        List<List<String>> table = PageFetcher.fetch("currencyRates", RATES_URL, html -> HtmlExtractor.tableRows(html, RATES_TABLE_CLASS, 1));
+        return parse(table);
+    }
+
+    static CurrencyRatesSnapshot parse(List<List<String>> table) throws IOException {
+        if (table.size() <= CURRENCIES) {
+            throw new IOException("Currency rates table has " + table.size() + " rows");
+        }
+        String[] rates = new String[CURRENCIES * 2];
+        for (int row = 1; row <= CURRENCIES; row++) {
+            List<String> cells = table.get(row);
+            if (cells.size() < 3) {
+                throw new IOException("Currency rates row " + row + " has " + cells.size() + " cells");
+            }
+            rates[(row - 1) * 2] = cells.get(1);
+            rates[(row - 1) * 2 + 1] = cells.get(2);
+        }
+        return new CurrencyRatesSnapshot(rates, Instant.now());
+    }
 }
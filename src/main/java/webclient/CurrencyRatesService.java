@@ -0,0 +1,55 @@
+package webclient;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class CurrencyRatesService {
+
+    private static final long REFRESH_MILLIS = TimeUnit.MINUTES.toMillis(Long.getLong("rates.refreshMinutes", 15L));
+    private static final long RETRY_BASE_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private static final AtomicReference<CurrencyRatesSnapshot> SNAPSHOT = new AtomicReference<>();
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "currency-rates-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile boolean started;
+
+    private CurrencyRatesService() {
+    }
+
+    public static synchronized void start() {
+        if (!started) {
+            started = true;
+            SCHEDULER.execute(() -> refresh(0));
+        }
+    }
+
+    public static CurrencyRatesSnapshot current() {
+        return SNAPSHOT.get();
+    }
+
+    public static boolean isStale(CurrencyRatesSnapshot snapshot) {
+        return snapshot.getAge().toMillis() > 2 * REFRESH_MILLIS;
+    }
+
+    private static void refresh(int failures) {
+        try {
+            SNAPSHOT.set(CurrencyRatesContent.fetch());
+            SCHEDULER.schedule(() -> refresh(0), REFRESH_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            e.printStackTrace();
+            SCHEDULER.schedule(() -> refresh(failures + 1), retryDelayMillis(failures), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static long retryDelayMillis(int failures) {
+        long backoff = Math.min(REFRESH_MILLIS, RETRY_BASE_MILLIS << Math.min(failures, 16));
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+}
@@ -0,0 +1,27 @@
+package webclient;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public final class CurrencyRatesSnapshot {
+
+    private final String[] rates;
+    private final Instant fetchedAt;
+
+    CurrencyRatesSnapshot(String[] rates, Instant fetchedAt) {
+        this.rates = rates.clone();
+        this.fetchedAt = fetchedAt;
+    }
+
+    public Object[] getRates() {
+        return rates.clone();
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public Duration getAge() {
+        return Duration.between(fetchedAt, Instant.now());
+    }
+}
@@ -0,0 +1,121 @@
+package webclient;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+final class HtmlExtractor {
+
+    private static final Set<String> BLOCK_TAGS = Set.of(
+            "br", "p", "div", "li", "ul", "ol", "tr", "table", "h1", "h2", "h3", "h4", "h5", "h6", "section", "article");
+
+    private HtmlExtractor() {
+    }
+
+    static List<String> elementTexts(Reader html, String tag, String cssClass, int limit) throws IOException {
+        HtmlScanner scanner = new HtmlScanner(html);
+        List<String> texts = new ArrayList<>();
+        HtmlScanner.TokenType token;
+        while (texts.size() < limit && (token = scanner.next()) != HtmlScanner.TokenType.EOF) {
+            if (token == HtmlScanner.TokenType.START_TAG && tag.equals(scanner.tagName())
+                    && cssClass.equals(scanner.attribute("class")) && !scanner.isSelfClosing()) {
+                texts.add(readElementText(scanner, tag));
+            }
+        }
+        return texts;
+    }
+
+    static List<List<String>> tableRows(Reader html, String cssClass, int occurrence) throws IOException {
+        HtmlScanner scanner = new HtmlScanner(html);
+        int seen = 0;
+        HtmlScanner.TokenType token;
+        while ((token = scanner.next()) != HtmlScanner.TokenType.EOF) {
+            if (token == HtmlScanner.TokenType.START_TAG && "table".equals(scanner.tagName())
+                    && cssClass.equals(scanner.attribute("class"))) {
+                if (seen++ == occurrence) {
+                    return readRows(scanner);
+                }
+            }
+        }
+        throw new IOException("Table '" + cssClass + "' #" + occurrence + " not found");
+    }
+
+    private static String readElementText(HtmlScanner scanner, String tag) throws IOException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        HtmlScanner.TokenType token;
+        while (depth > 0 && (token = scanner.next()) != HtmlScanner.TokenType.EOF) {
+            switch (token) {
+                case START_TAG:
+                    if (tag.equals(scanner.tagName()) && !scanner.isSelfClosing()) {
+                        depth++;
+                    }
+                    if (BLOCK_TAGS.contains(scanner.tagName())) {
+                        text.append('\n');
+                    }
+                    break;
+                case END_TAG:
+                    if (tag.equals(scanner.tagName())) {
+                        depth--;
+                    }
+                    if (BLOCK_TAGS.contains(scanner.tagName())) {
+                        text.append('\n');
+                    }
+                    break;
+                case TEXT:
+                    text.append(scanner.text());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return normalize(text);
+    }
+
+    private static List<List<String>> readRows(HtmlScanner scanner) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = null;
+        StringBuilder cell = null;
+        int tables = 1;
+        HtmlScanner.TokenType token;
+        while (tables > 0 && (token = scanner.next()) != HtmlScanner.TokenType.EOF) {
+            String name = scanner.tagName();
+            if (token == HtmlScanner.TokenType.START_TAG) {
+                if ("table".equals(name)) {
+                    tables++;
+                } else if (tables == 1 && "tr".equals(name)) {
+                    row = new ArrayList<>();
+                    rows.add(row);
+                } else if (tables == 1 && row != null && ("td".equals(name) || "th".equals(name))) {
+                    cell = new StringBuilder();
+                }
+            } else if (token == HtmlScanner.TokenType.END_TAG) {
+                if ("table".equals(name)) {
+                    tables--;
+                } else if (tables == 1 && cell != null && ("td".equals(name) || "th".equals(name))) {
+                    row.add(normalize(cell));
+                    cell = null;
+                }
+            } else if (token == HtmlScanner.TokenType.TEXT && cell != null) {
+                cell.append(scanner.text());
+            }
+        }
+        return rows;
+    }
+
+    private static String normalize(CharSequence raw) {
+        StringBuilder result = new StringBuilder(raw.length());
+        for (String line : raw.toString().split("\n")) {
+            String collapsed = line.replace('\u00A0', ' ').trim().replaceAll("\\s+", " ");
+            if (!collapsed.isEmpty()) {
+                if (result.length() > 0) {
+                    result.append('\n');
+                }
+                result.append(collapsed);
+            }
+        }
+        return result.toString();
+    }
+}
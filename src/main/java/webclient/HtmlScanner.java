@@ -0,0 +1,277 @@
+package webclient;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+final class HtmlScanner {
+
+    enum TokenType {
+        START_TAG,
+        END_TAG,
+        TEXT,
+        EOF
+    }
+
+    private final Reader reader;
+    private final StringBuilder buffer = new StringBuilder();
+    private final Map<String, String> attributes = new HashMap<>();
+    private int pushedBack = -2;
+
+    private TokenType type;
+    private String tagName;
+    private boolean selfClosing;
+
+    HtmlScanner(Reader reader) {
+        this.reader = reader;
+    }
+
+    TokenType next() throws IOException {
+        attributes.clear();
+        buffer.setLength(0);
+        selfClosing = false;
+        tagName = null;
+
+        int c = read();
+        while (c != -1) {
+            if (c != '<') {
+                return text(c);
+            }
+            int n = read();
+            if (n == '/') {
+                if (readTagName(read()) != '>') {
+                    skipTo('>');
+                }
+                type = TokenType.END_TAG;
+                return type;
+            }
+            if (n == '!' || n == '?') {
+                skipMarkup();
+                c = read();
+                continue;
+            }
+            if (isNameStart(n)) {
+                readStartTag(n);
+                if (!selfClosing && ("script".equals(tagName) || "style".equals(tagName))) {
+                    skipRawText(tagName);
+                    c = read();
+                    continue;
+                }
+                type = TokenType.START_TAG;
+                return type;
+            }
+            buffer.append('<');
+            unread(n);
+            return text(read());
+        }
+        type = TokenType.EOF;
+        return type;
+    }
+
+    String tagName() {
+        return tagName;
+    }
+
+    String attribute(String name) {
+        return attributes.get(name);
+    }
+
+    boolean isSelfClosing() {
+        return selfClosing;
+    }
+
+    String text() {
+        return buffer.toString();
+    }
+
+    private TokenType text(int c) throws IOException {
+        while (c != -1 && c != '<') {
+            buffer.append((char) c);
+            c = read();
+        }
+        unread(c);
+        decodeEntities(buffer);
+        type = TokenType.TEXT;
+        return type;
+    }
+
+    private void readStartTag(int c) throws IOException {
+        c = readTagName(c);
+        while (c != -1 && c != '>') {
+            if (c == '/') {
+                selfClosing = true;
+                c = read();
+            } else if (Character.isWhitespace(c)) {
+                c = read();
+            } else {
+                c = readAttribute(c);
+            }
+        }
+    }
+
+    private int readTagName(int c) throws IOException {
+        StringBuilder name = new StringBuilder();
+        while (c != -1 && c != '>' && c != '/' && !Character.isWhitespace(c)) {
+            name.append((char) c);
+            c = read();
+        }
+        tagName = name.toString().toLowerCase(Locale.ROOT);
+        return c;
+    }
+
+    private int readAttribute(int c) throws IOException {
+        StringBuilder name = new StringBuilder();
+        while (c != -1 && c != '=' && c != '>' && c != '/' && !Character.isWhitespace(c)) {
+            name.append((char) c);
+            c = read();
+        }
+        while (c != -1 && Character.isWhitespace(c)) {
+            c = read();
+        }
+        if (c != '=') {
+            attributes.put(name.toString().toLowerCase(Locale.ROOT), "");
+            return c;
+        }
+        c = read();
+        while (c != -1 && Character.isWhitespace(c)) {
+            c = read();
+        }
+        StringBuilder value = new StringBuilder();
+        if (c == '"' || c == '\'') {
+            int quote = c;
+            c = read();
+            while (c != -1 && c != quote) {
+                value.append((char) c);
+                c = read();
+            }
+            c = read();
+        } else {
+            while (c != -1 && c != '>' && !Character.isWhitespace(c)) {
+                value.append((char) c);
+                c = read();
+            }
+        }
+        decodeEntities(value);
+        attributes.put(name.toString().toLowerCase(Locale.ROOT), value.toString());
+        return c;
+    }
+
+    private void skipMarkup() throws IOException {
+        int c = read();
+        if (c == '-') {
+            int d = read();
+            if (d == '-') {
+                int dashes = 0;
+                while ((c = read()) != -1) {
+                    if (c == '>' && dashes >= 2) {
+                        return;
+                    }
+                    dashes = c == '-' ? dashes + 1 : 0;
+                }
+                return;
+            }
+            unread(d);
+        }
+        if (c != '>') {
+            skipTo('>');
+        }
+    }
+
+    private void skipRawText(String tag) throws IOException {
+        String end = "</" + tag;
+        int matched = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (Character.toLowerCase(c) == end.charAt(matched)) {
+                matched++;
+                if (matched == end.length()) {
+                    skipTo('>');
+                    return;
+                }
+            } else {
+                matched = c == '<' ? 1 : 0;
+            }
+        }
+    }
+
+    private void skipTo(int target) throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && c != target);
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    private static boolean isNameStart(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    static void decodeEntities(StringBuilder text) {
+        int amp = text.indexOf("&");
+        while (amp >= 0) {
+            int semicolon = text.indexOf(";", amp);
+            if (semicolon < 0 || semicolon - amp > 10) {
+                amp = text.indexOf("&", amp + 1);
+                continue;
+            }
+            String replacement = entity(text.substring(amp + 1, semicolon));
+            if (replacement == null) {
+                amp = text.indexOf("&", amp + 1);
+                continue;
+            }
+            text.replace(amp, semicolon + 1, replacement);
+            amp = text.indexOf("&", amp + replacement.length());
+        }
+    }
+
+    private static String entity(String name) {
+        if (name.startsWith("#")) {
+            try {
+                int codePoint = name.startsWith("#x") || name.startsWith("#X")
+                        ? Integer.parseInt(name.substring(2), 16)
+                        : Integer.parseInt(name.substring(1));
+                return new String(Character.toChars(codePoint));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        switch (name) {
+            case "amp":
+                return "&";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            case "nbsp":
+                return " ";
+            case "laquo":
+                return "«";
+            case "raquo":
+                return "»";
+            case "ndash":
+                return "–";
+            case "mdash":
+                return "—";
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package webclient;
+
+import api.HttpClients;
+import metrics.Metrics;
+import metrics.Stage;
+import metrics.Timer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.Reader;
+
+final class PageFetcher {
+
+    private static final int NOT_MODIFIED = 304;
+    private static final OkHttpClient client = HttpClients.shared();
+
+    private PageFetcher() {
+    }
+
+    interface Extraction<T> {
+
+        T extract(Reader html) throws IOException;
+    }
+
+    static final class Page<T> {
+
+        private final T content;
+        private final String etag;
+        private final String lastModified;
+
+        private Page(T content, String etag, String lastModified) {
+            this.content = content;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        boolean isNotModified() {
+            return content == null;
+        }
+
+        T getContent() {
+            return content;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+    }
+
+    static <T> T fetch(String name, String url, Extraction<T> extraction) throws IOException {
+        return fetch(name, url, null, null, extraction).getContent();
+    }
+
+    static <T> Page<T> fetch(String name, String url, String etag, String lastModified, Extraction<T> extraction)
+            throws IOException {
+        Timer timer = Metrics.timer(Stage.SCRAPE, name);
+        long start = System.nanoTime();
+        try {
+            return fetch(url, etag, lastModified, extraction);
+        } catch (IOException | RuntimeException e) {
+            timer.error();
+            throw e;
+        } finally {
+            timer.recordSince(start);
+        }
+    }
+
+    private static <T> Page<T> fetch(String url, String etag, String lastModified, Extraction<T> extraction)
+            throws IOException {
+        Request.Builder request = new Request.Builder()
+                .url(url)
+                .get();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            request.header("If-Modified-Since", lastModified);
+        }
+        try (Response response = client.newCall(request.build()).execute()) {
+            if (response.code() == NOT_MODIFIED && (etag != null || lastModified != null)) {
+                return new Page<>(null, etag, lastModified);
+            }
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException(url + " returned HTTP " + response.code());
+            }
+            T content = extraction.extract(body.charStream());
+            return new Page<>(content, response.header("ETag"), response.header("Last-Modified"));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package webhook;
+
+import api.HttpClients;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class WebhookLoadClient {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: WebhookLoadClient <updates.jsonl> <url> [concurrency] [requests]");
+            return;
+        }
+        List<byte[]> updates = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                updates.add(line.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        if (updates.isEmpty()) {
+            System.out.println("No updates in " + args[0]);
+            return;
+        }
+        String url = args[1];
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int requests = args.length > 3 ? Integer.parseInt(args[3]) : updates.size();
+        String secretToken = System.getProperty("bot.webhook.secret");
+
+        OkHttpClient client = HttpClients.shared();
+        AtomicInteger next = new AtomicInteger();
+        LongAdder errors = new LongAdder();
+        long[] latencies = new long[requests];
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            new Thread(() -> {
+                try {
+                    int index;
+                    while ((index = next.getAndIncrement()) < requests) {
+                        Request.Builder request = new Request.Builder()
+                                .url(url)
+                                .post(RequestBody.create(updates.get(index % updates.size()), JSON));
+                        if (secretToken != null) {
+                            request.header("X-Telegram-Bot-Api-Secret-Token", secretToken);
+                        }
+                        long sent = System.nanoTime();
+                        try (Response response = client.newCall(request.build()).execute()) {
+                            if (!response.isSuccessful()) {
+                                errors.increment();
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                        latencies[index] = System.nanoTime() - sent;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "webhook-load-" + i).start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("requests=%d errors=%d elapsedMs=%d throughput=%.1f/s p50Ms=%.2f p99Ms=%.2f maxMs=%.2f%n",
+                requests, errors.sum(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                requests / (elapsed / 1_000_000_000.0),
+                latencies[requests / 2] / 1_000_000.0,
+                latencies[Math.min(requests - 1, (int) (requests * 0.99))] / 1_000_000.0,
+                latencies[requests - 1] / 1_000_000.0);
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+}
@@ -0,0 +1,140 @@
+package webhook;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class WebhookServer {
+
+    private static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+    private static final ObjectReader UPDATE_READER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .readerFor(Update.class);
+
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final String secretToken;
+    private final Consumer<Update> handler;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public WebhookServer(InetSocketAddress address, String path, int threads, int backlog, String secretToken,
+                         Consumer<Update> handler) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        this.secretToken = secretToken;
+        this.handler = handler;
+        this.workers = Executors.newFixedThreadPool(threads, new WorkerThreadFactory());
+        this.server = HttpServer.create(address, backlog);
+        this.server.createContext(path, this::handle);
+        this.server.setExecutor(workers);
+    }
+
+    public static WebhookServer fromSystemProperties(Consumer<Update> handler) throws IOException {
+        return new WebhookServer(
+                new InetSocketAddress(System.getProperty("bot.webhook.host", "0.0.0.0"),
+                        Integer.getInteger("bot.webhook.port", 8443)),
+                System.getProperty("bot.webhook.path", "/webhook"),
+                Integer.getInteger("bot.webhook.threads", Runtime.getRuntime().availableProcessors() * 2),
+                Integer.getInteger("bot.webhook.backlog", 1024),
+                System.getProperty("bot.webhook.secret"),
+                handler);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        workers.shutdown();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public long getReceived() {
+        return received.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Update update;
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                reject(exchange, 405);
+                return;
+            }
+            if (secretToken != null && !secretToken.equals(exchange.getRequestHeaders().getFirst(SECRET_HEADER))) {
+                reject(exchange, 401);
+                return;
+            }
+            try (InputStream body = exchange.getRequestBody()) {
+                update = UPDATE_READER.readValue(body);
+            } catch (IOException e) {
+                reject(exchange, 400);
+                return;
+            }
+            exchange.sendResponseHeaders(200, -1);
+        } finally {
+            exchange.close();
+        }
+
+        received.increment();
+        try {
+            handler.accept(update);
+        } catch (RuntimeException e) {
+            failed.increment();
+            e.printStackTrace();
+        }
+    }
+
+    private void reject(HttpExchange exchange, int status) throws IOException {
+        rejected.increment();
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("received=%d rejected=%d failed=%d", getReceived(), getRejected(), getFailed());
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "webhook-worker-" + counter.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package api;
+
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BackendPoolTest {
+
+    private final Backend backend = new Backend(HttpUrl.get("http://localhost:8080/customers/"), 3);
+
+    @Test
+    void unresolvableHealthPathIsRejectedAtLoad() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BackendPool(EndpointRegistry.CUSTOMERS, List.of(backend), "ftp://localhost/health"));
+    }
+
+    @Test
+    void relativeHealthPathIsAccepted() {
+        BackendPool pool = new BackendPool(EndpointRegistry.CUSTOMERS, List.of(backend), "health");
+        assertEquals(1, pool.size());
+    }
+}
@@ -0,0 +1,257 @@
+package api;
+
+import database.CustomerAccounts;
+import database.CustomerCreditsAmount;
+import database.CustomerInfo;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CustomerLookupTest {
+
+    private static final String PHONE = "994501234567";
+    private static final long TTL_MILLIS = 400;
+    private static final long NEGATIVE_TTL_MILLIS = 150;
+
+    private static final String INFO = "{\"customerName\":\"Shirin\",\"customerSurname\":\"Isgandarli\"}";
+    private static final String ACCOUNTS = "[{\"azn\":2,\"usd\":1,\"eur\":0}]";
+    private static final String CREDITS = "[{\"totalCreditsAmountInAZN\":15400,\"totalCreditsAmountInUSD\":0}]";
+    private static final String SUMMARY = "{\"customerName\":\"Shirin\",\"customerSurname\":\"Isgandarli\","
+            + "\"accounts\":" + ACCOUNTS + ",\"credits\":" + CREDITS + "}";
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Map<String, String> bodies = new ConcurrentHashMap<>();
+    private final Map<String, Integer> statuses = new ConcurrentHashMap<>();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private OkHttpAsyncGet http;
+    private CustomerLookup lookup;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        bodies.put(CustomerEndpoint.CUSTOMER_SUMMARY.getPath(), SUMMARY);
+        bodies.put(CustomerEndpoint.CUSTOMER_NAME_AND_SURNAME.getPath(), INFO);
+        bodies.put(CustomerEndpoint.CUSTOMER_ACCOUNTS.getPath(), ACCOUNTS);
+        bodies.put(CustomerEndpoint.CUSTOMER_CREDITS_AMOUNT.getPath(), CREDITS);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                String endpoint = request.getRequestUrl().pathSegments().get(1);
+                calls.computeIfAbsent(endpoint, key -> new AtomicInteger()).incrementAndGet();
+                Integer status = statuses.get(endpoint);
+                if (status != null) {
+                    return new MockResponse().setResponseCode(status);
+                }
+                gate.await(10, TimeUnit.SECONDS);
+                String body = bodies.get(endpoint);
+                return body == null ? new MockResponse().setResponseCode(404) : new MockResponse().setBody(body);
+            }
+        });
+        server.start();
+        Backend backend = new Backend(server.url("/"), Integer.MAX_VALUE);
+        http = new OkHttpAsyncGet(HttpClients.shared(), new BackendPool(EndpointRegistry.CUSTOMERS, List.of(backend), ""));
+        lookup = new CustomerLookup(new CustomerSnapshotClient(http, 10, TimeUnit.MINUTES),
+                TTL_MILLIS, NEGATIVE_TTL_MILLIS, TimeUnit.MILLISECONDS, 100);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        gate.countDown();
+        server.shutdown();
+    }
+
+    @Test
+    void loginMakesOneSummaryCallAndServesTapsWarm() throws Exception {
+        CustomerInfo info = lookup.info(PHONE).get(10, TimeUnit.SECONDS);
+        assertEquals("Shirin", info.getCustomerName());
+        assertEquals(2, lookup.accounts(PHONE).get(10, TimeUnit.SECONDS).getAzn());
+        assertEquals(15400, lookup.credits(PHONE).get(10, TimeUnit.SECONDS).getTotalCreditsAmountInAZN());
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+    }
+
+    @Test
+    void loginFansOutOncePerPartWithoutSummary() throws Exception {
+        statuses.put(CustomerEndpoint.CUSTOMER_SUMMARY.getPath(), 501);
+        lookup.info(PHONE).get(10, TimeUnit.SECONDS);
+        lookup.accounts(PHONE).get(10, TimeUnit.SECONDS);
+        lookup.credits(PHONE).get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_NAME_AND_SURNAME));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_ACCOUNTS));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_CREDITS_AMOUNT));
+
+        lookup.forget(PHONE);
+        lookup.info(PHONE).get(10, TimeUnit.SECONDS);
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+        assertEquals(2, calls(CustomerEndpoint.CUSTOMER_NAME_AND_SURNAME));
+    }
+
+    @Test
+    void notFoundSummaryFansOutForThatLoginOnly() throws Exception {
+        bodies.remove(CustomerEndpoint.CUSTOMER_SUMMARY.getPath());
+        assertEquals("Shirin", lookup.info(PHONE).get(10, TimeUnit.SECONDS).getCustomerName());
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_NAME_AND_SURNAME));
+
+        lookup.forget(PHONE);
+        bodies.put(CustomerEndpoint.CUSTOMER_SUMMARY.getPath(), SUMMARY);
+        lookup.info(PHONE).get(10, TimeUnit.SECONDS);
+        assertEquals(2, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_NAME_AND_SURNAME));
+    }
+
+    @Test
+    void failedInfoCancelsTheOtherFanOutCalls() throws Exception {
+        statuses.put(CustomerEndpoint.CUSTOMER_SUMMARY.getPath(), 501);
+        statuses.put(CustomerEndpoint.CUSTOMER_NAME_AND_SURNAME.getPath(), 500);
+        gate = new CountDownLatch(1);
+        CompletableFuture<CustomerInfo> login = lookup.info(PHONE);
+
+        assertThrows(ExecutionException.class, () -> login.get(10, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (http.getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, http.getInFlight());
+    }
+
+    @Test
+    void repeatedContactSharesShareOneLookup() throws Exception {
+        gate = new CountDownLatch(1);
+        List<CompletableFuture<CustomerInfo>> logins = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            logins.add(lookup.info(PHONE));
+        }
+        gate.countDown();
+        for (CompletableFuture<CustomerInfo> login : logins) {
+            assertEquals("Isgandarli", login.get(10, TimeUnit.SECONDS).getCustomerSurname());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void expiredPartIsRefetchedAlone() throws Exception {
+        lookup.info(PHONE).get(10, TimeUnit.SECONDS);
+        Thread.sleep(TTL_MILLIS + 100);
+
+        assertEquals(2, lookup.accounts(PHONE).get(10, TimeUnit.SECONDS).getAzn());
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_ACCOUNTS));
+        assertEquals(0, calls(CustomerEndpoint.CUSTOMER_CREDITS_AMOUNT));
+        assertEquals(0, calls(CustomerEndpoint.CUSTOMER_NAME_AND_SURNAME));
+    }
+
+    @Test
+    void expiredPartIsRefetchedAloneWhenFanningOut() throws Exception {
+        bodies.remove(CustomerEndpoint.CUSTOMER_SUMMARY.getPath());
+        lookup.info(PHONE).get(10, TimeUnit.SECONDS);
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_ACCOUNTS));
+        Thread.sleep(TTL_MILLIS + 100);
+
+        lookup.accounts(PHONE).get(10, TimeUnit.SECONDS);
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_NAME_AND_SURNAME));
+        assertEquals(2, calls(CustomerEndpoint.CUSTOMER_ACCOUNTS));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_CREDITS_AMOUNT));
+    }
+
+    @Test
+    void missingPartIsFetchedOnceAndNegativelyCached() throws Exception {
+        bodies.put(CustomerEndpoint.CUSTOMER_SUMMARY.getPath(), INFO);
+        bodies.put(CustomerEndpoint.CUSTOMER_CREDITS_AMOUNT.getPath(), "null");
+        lookup.info(PHONE).get(10, TimeUnit.SECONDS);
+
+        gate = new CountDownLatch(1);
+        List<CompletableFuture<CustomerCreditsAmount>> taps = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            taps.add(lookup.credits(PHONE));
+        }
+        gate.countDown();
+        for (CompletableFuture<CustomerCreditsAmount> tap : taps) {
+            assertNull(tap.get(10, TimeUnit.SECONDS));
+        }
+        assertNull(lookup.credits(PHONE).get(10, TimeUnit.SECONDS));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_CREDITS_AMOUNT));
+
+        Thread.sleep(NEGATIVE_TTL_MILLIS + 100);
+        assertNull(lookup.credits(PHONE).get(10, TimeUnit.SECONDS));
+        assertEquals(2, calls(CustomerEndpoint.CUSTOMER_CREDITS_AMOUNT));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+    }
+
+    @Test
+    void unknownCustomerIsNegativelyCached() throws Exception {
+        bodies.put(CustomerEndpoint.CUSTOMER_SUMMARY.getPath(), "");
+        assertNull(lookup.info(PHONE).get(10, TimeUnit.SECONDS));
+        assertNull(lookup.info(PHONE).get(10, TimeUnit.SECONDS));
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+
+        Thread.sleep(NEGATIVE_TTL_MILLIS + 100);
+        assertNull(lookup.info(PHONE).get(10, TimeUnit.SECONDS));
+        assertEquals(2, calls(CustomerEndpoint.CUSTOMER_SUMMARY));
+    }
+
+    @Test
+    void forgetDropsEveryPart() throws Exception {
+        lookup.info(PHONE).get(10, TimeUnit.SECONDS);
+        lookup.forget(PHONE);
+        CustomerAccounts accounts = lookup.accounts(PHONE).get(10, TimeUnit.SECONDS);
+
+        assertEquals(1, accounts.getUsd());
+        assertEquals(1, calls(CustomerEndpoint.CUSTOMER_ACCOUNTS));
+    }
+
+    @Test
+    void abandonedTapCancelsItsBackendCall() throws Exception {
+        gate = new CountDownLatch(1);
+        CompletableFuture<CustomerAccounts> tap = lookup.accounts(PHONE);
+        server.takeRequest(10, TimeUnit.SECONDS);
+        assertEquals(1, http.getInFlight());
+
+        tap.cancel(true);
+        assertEquals(0, http.getInFlight());
+        gate.countDown();
+        assertEquals(2, lookup.accounts(PHONE).get(10, TimeUnit.SECONDS).getAzn());
+        assertEquals(2, calls(CustomerEndpoint.CUSTOMER_ACCOUNTS));
+    }
+
+    @Test
+    void abandonedLoginCancelsTheSummaryCall() throws Exception {
+        gate = new CountDownLatch(1);
+        CompletableFuture<CustomerInfo> first = lookup.info(PHONE);
+        CompletableFuture<CustomerInfo> second = lookup.info(PHONE);
+        server.takeRequest(10, TimeUnit.SECONDS);
+
+        first.cancel(true);
+        assertEquals(1, http.getInFlight());
+        second.cancel(true);
+        assertEquals(0, http.getInFlight());
+    }
+
+    private int calls(CustomerEndpoint endpoint) {
+        AtomicInteger count = calls.get(endpoint.getPath());
+        return count == null ? 0 : count.get();
+    }
+}
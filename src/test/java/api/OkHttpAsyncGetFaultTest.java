@@ -0,0 +1,199 @@
+package api;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OkHttpAsyncGetFaultTest {
+
+    private static final String PHONE = "994501234567";
+    private static final CustomerEndpoint ENDPOINT = CustomerEndpoint.CUSTOMER_ACCOUNTS;
+    private static final int MINIMUM_CALLS = 4;
+    private static final long OPEN_MILLIS = 1_000;
+
+    private final MockWebServer server = new MockWebServer();
+    private volatile int status = 200;
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private Backend backend;
+    private OkHttpAsyncGet http;
+
+    @BeforeAll
+    static void configureBreaker() {
+        System.setProperty("customer.api.breaker.window", "8");
+        System.setProperty("customer.api.breaker.minimumCalls", String.valueOf(MINIMUM_CALLS));
+        System.setProperty("customer.api.breaker.failureRate", "0.5");
+        System.setProperty("customer.api.breaker.openSeconds", String.valueOf(TimeUnit.MILLISECONDS.toSeconds(OPEN_MILLIS)));
+    }
+
+    @AfterAll
+    static void resetBreaker() {
+        System.clearProperty("customer.api.breaker.window");
+        System.clearProperty("customer.api.breaker.minimumCalls");
+        System.clearProperty("customer.api.breaker.failureRate");
+        System.clearProperty("customer.api.breaker.openSeconds");
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                gate.await(10, TimeUnit.SECONDS);
+                return new MockResponse().setResponseCode(status).setBody("ok");
+            }
+        });
+        server.start();
+        backend = new Backend(server.url("/"), Integer.MAX_VALUE);
+        http = new OkHttpAsyncGet(HttpClients.shared(), new BackendPool(EndpointRegistry.CUSTOMERS, List.of(backend), ""));
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        gate.countDown();
+        server.shutdown();
+    }
+
+    @Test
+    void breakerOpensProbesAndCloses() throws Exception {
+        CircuitBreaker breaker = http.getCircuitBreaker(ENDPOINT, backend);
+        status = 503;
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertEquals(503, ((HttpStatusException) failure(http.run(ENDPOINT, PHONE))).getCode());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, breaker.getOpened());
+
+        assertTrue(failure(http.run(ENDPOINT, PHONE)) instanceof ServiceUnavailableException);
+        assertEquals(MINIMUM_CALLS, server.getRequestCount());
+        assertEquals(1, breaker.getRejected());
+
+        Thread.sleep(OPEN_MILLIS + 100);
+        assertTrue(failure(http.run(ENDPOINT, PHONE)) instanceof HttpStatusException);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1, breaker.getHalfOpened());
+        assertEquals(2, breaker.getOpened());
+
+        Thread.sleep(OPEN_MILLIS + 100);
+        status = 200;
+        gate = new CountDownLatch(1);
+        CompletableFuture<String> probe = http.run(ENDPOINT, PHONE);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(failure(http.run(ENDPOINT, PHONE)) instanceof ServiceUnavailableException);
+        gate.countDown();
+        assertEquals("ok", probe.get(10, TimeUnit.SECONDS));
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2, breaker.getHalfOpened());
+        assertEquals(1, breaker.getClosed());
+        assertEquals(2, breaker.getRejected());
+        assertEquals(MINIMUM_CALLS + 2, server.getRequestCount());
+        assertEquals("ok", http.run(ENDPOINT, PHONE).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondMaxConcurrent() throws Exception {
+        Bulkhead bulkhead = http.getBulkhead(ENDPOINT);
+        gate = new CountDownLatch(1);
+        List<CompletableFuture<String>> held = new ArrayList<>();
+        for (int i = 0; i < ENDPOINT.getMaxConcurrent(); i++) {
+            held.add(http.run(ENDPOINT, PHONE));
+        }
+        assertEquals(ENDPOINT.getMaxConcurrent(), bulkhead.getInFlight());
+
+        CompletableFuture<String> rejected = http.run(ENDPOINT, PHONE);
+        assertTrue(rejected.isDone());
+        assertTrue(failure(rejected) instanceof ServiceUnavailableException);
+        assertEquals(1, bulkhead.getRejected());
+        assertFalse(held.stream().anyMatch(CompletableFuture::isDone));
+
+        gate.countDown();
+        for (CompletableFuture<String> call : held) {
+            assertEquals("ok", call.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(0, bulkhead.getInFlight());
+        assertEquals(CircuitBreaker.State.CLOSED, http.getCircuitBreaker(ENDPOINT, backend).getState());
+        assertEquals(ENDPOINT.getMaxConcurrent(), server.getRequestCount());
+    }
+
+    @Test
+    void openBreakerOnOneReplicaFallsBackToAnother() throws Exception {
+        MockWebServer dead = new MockWebServer();
+        dead.start();
+        try {
+            Backend deadBackend = new Backend(dead.url("/"), Integer.MAX_VALUE);
+            OkHttpAsyncGet replicated = new OkHttpAsyncGet(HttpClients.shared(),
+                    new BackendPool(EndpointRegistry.CUSTOMERS, List.of(deadBackend, backend), ""));
+            CircuitBreaker deadBreaker = replicated.getCircuitBreaker(ENDPOINT, deadBackend);
+            for (int i = 0; i < MINIMUM_CALLS; i++) {
+                assertTrue(deadBreaker.tryAcquire());
+                deadBreaker.onFailure();
+            }
+            assertEquals(CircuitBreaker.State.OPEN, deadBreaker.getState());
+
+            for (int i = 0; i < 20; i++) {
+                assertEquals("ok", replicated.run(ENDPOINT, PHONE).get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(0, dead.getRequestCount());
+            assertEquals(20, server.getRequestCount());
+            assertEquals(CircuitBreaker.State.CLOSED, replicated.getCircuitBreaker(ENDPOINT, backend).getState());
+        } finally {
+            dead.shutdown();
+        }
+    }
+
+    @Test
+    void cancelAllLeavesOtherCallsOnTheSharedClient() throws Exception {
+        gate = new CountDownLatch(1);
+        OkHttpAsyncGet other = new OkHttpAsyncGet(HttpClients.shared(), http.getBackends());
+        CompletableFuture<String> own = http.run(ENDPOINT, PHONE);
+        CompletableFuture<String> neighbour = other.run(ENDPOINT, PHONE);
+        CompletableFuture<String> page = CompletableFuture.supplyAsync(this::fetchPage);
+        for (int i = 0; i < 3; i++) {
+            server.takeRequest(10, TimeUnit.SECONDS);
+        }
+        assertEquals(1, http.getInFlight());
+
+        http.cancelAll();
+        assertTrue(failure(own) instanceof IOException);
+        assertEquals(0, http.getInFlight());
+        gate.countDown();
+        assertEquals("ok", neighbour.get(10, TimeUnit.SECONDS));
+        assertEquals("ok", page.get(10, TimeUnit.SECONDS));
+        assertEquals(0, http.getBulkhead(ENDPOINT).getInFlight());
+    }
+
+    private String fetchPage() {
+        Request request = new Request.Builder().url(server.url("/page")).build();
+        try (Response response = HttpClients.shared().newCall(request).execute()) {
+            return response.body().string();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        return assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS)).getCause();
+    }
+}
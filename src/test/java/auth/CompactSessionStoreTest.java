@@ -0,0 +1,51 @@
+package auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompactSessionStoreTest {
+
+    private final CompactSessionStore store = new CompactSessionStore(16, 30, TimeUnit.MINUTES);
+
+    @AfterEach
+    void closeStore() {
+        store.close();
+    }
+
+    @Test
+    void keepsLanguagesOutsideTheBuiltInSet() {
+        store.update(1L, session -> session.withLang("tr").withPhoneNumber("994501234567"));
+        store.update(2L, session -> session.withLang("en"));
+
+        assertEquals(new ChatSession("tr", "994501234567"), store.get(1L));
+        assertEquals(new ChatSession("en", null), store.get(2L));
+
+        store.update(1L, session -> session.withLang("ru"));
+        assertEquals(new ChatSession("ru", "994501234567"), store.get(1L));
+        store.update(1L, session -> session.withLang("de"));
+        assertEquals(new ChatSession("de", "994501234567"), store.get(1L));
+    }
+
+    @Test
+    void survivesGrowthAndRemovalWithOverflowValues() {
+        for (long chatId = 1; chatId <= 100; chatId++) {
+            String lang = chatId % 2 == 0 ? "az" : "lang-" + chatId;
+            String phone = chatId % 3 == 0 ? "+994 50 " + chatId : "99450" + chatId;
+            store.update(chatId, session -> session.withLang(lang).withPhoneNumber(phone));
+        }
+        for (long chatId = 1; chatId <= 100; chatId += 5) {
+            store.update(chatId, session -> ChatSession.EMPTY);
+        }
+        assertEquals(80, store.size());
+        for (long chatId = 1; chatId <= 100; chatId++) {
+            ChatSession expected = chatId % 5 == 1 ? ChatSession.EMPTY : new ChatSession(
+                    chatId % 2 == 0 ? "az" : "lang-" + chatId,
+                    chatId % 3 == 0 ? "+994 50 " + chatId : "99450" + chatId);
+            assertEquals(expected, store.get(chatId));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FileSessionStoreTest {
+
+    private static final long CHAT = 42L;
+
+    @TempDir
+    Path directory;
+
+    private FileSessionStore writer;
+    private FileSessionStore reader;
+
+    @BeforeEach
+    void openStores() {
+        writer = new FileSessionStore(directory, 30, TimeUnit.MINUTES);
+        reader = new FileSessionStore(directory, 30, TimeUnit.MINUTES);
+    }
+
+    @AfterEach
+    void closeStores() {
+        writer.close();
+        reader.close();
+    }
+
+    @Test
+    void seesWritesWithinTheSameTimestampTick() throws Exception {
+        Path file = directory.resolve(CHAT + ".session");
+        writer.update(CHAT, session -> session.withLang("az"));
+        FileTime tick = Files.getLastModifiedTime(file);
+        assertEquals("az", reader.get(CHAT).getLang());
+
+        writer.update(CHAT, session -> session.withLang("en"));
+        Files.setLastModifiedTime(file, tick);
+        assertEquals("en", reader.get(CHAT).getLang());
+    }
+
+    @Test
+    void readsSessionsWrittenWithoutAStamp() throws Exception {
+        Files.write(directory.resolve(CHAT + ".session"), SessionCodec.encode(new ChatSession("ru", "994501234567")));
+        ChatSession session = reader.get(CHAT);
+        assertEquals("ru", session.getLang());
+        assertEquals("994501234567", session.getPhoneNumber());
+    }
+
+    @Test
+    void sizeCountsSessionFilesNotCachedEntries() {
+        writer.update(1L, session -> session.withLang("az"));
+        writer.update(2L, session -> session.withLang("en"));
+        assertEquals(2, reader.size());
+
+        writer.update(1L, session -> ChatSession.EMPTY);
+        assertEquals(1, reader.size());
+    }
+}
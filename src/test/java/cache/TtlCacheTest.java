@@ -0,0 +1,59 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TtlCacheTest {
+
+    private final TtlCache<String, String> cache = new TtlCache<>(1, TimeUnit.MINUTES, 10);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CompletableFuture<String> load = new CompletableFuture<>();
+
+    @Test
+    void cancellingOneWaiterKeepsTheSharedLoad() throws Exception {
+        CompletableFuture<String> first = cache.get("k", this::loader);
+        CompletableFuture<String> second = cache.get("k", this::loader);
+        assertTrue(first.cancel(true));
+        assertFalse(load.isCancelled());
+
+        load.complete("v");
+        assertEquals("v", second.get(1, TimeUnit.SECONDS));
+        assertEquals("v", cache.get("k", this::loader).get(1, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void cancellingEveryWaiterCancelsTheLoad() {
+        CompletableFuture<String> first = cache.get("k", this::loader);
+        CompletableFuture<String> second = cache.get("k", this::loader);
+        first.cancel(true);
+        second.cancel(true);
+        assertTrue(load.isCancelled());
+
+        cache.get("k", this::loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void cancellingACompletedValueLeavesItCached() throws Exception {
+        CompletableFuture<String> first = cache.get("k", this::loader);
+        load.complete("v");
+        first.get(1, TimeUnit.SECONDS);
+        CompletableFuture<String> hit = cache.get("k", this::loader);
+        assertFalse(hit.cancel(true));
+        assertEquals("v", cache.get("k", this::loader).get(1, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    private CompletableFuture<String> loader(String key) {
+        loads.incrementAndGet();
+        return load;
+    }
+}
@@ -0,0 +1,171 @@
+package config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import langs.LanguageElement;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentRepliesTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final String[] LANGS = {"az", "en", "ru"};
+    private static final String[] LANGUAGE_LABELS = {SwitchCaseStrings.languageAz, SwitchCaseStrings.languageEn, SwitchCaseStrings.languageRu};
+    private static final String[] SETTINGS_LABELS = {SwitchCaseStrings.settingsAz, SwitchCaseStrings.settingsEn, SwitchCaseStrings.settingsRu};
+    private static final String[] ACCOUNTS_LABELS = {SwitchCaseStrings.myAccountsAz, SwitchCaseStrings.myAccountsEn, SwitchCaseStrings.myAccountsRu};
+    private static final int CHATS = 300;
+    private static final int ROUNDS = 10;
+
+    private static final Map<String, String> OUTBOUND_LIMITS = Map.of(
+            "bot.outbound.globalPerSecond", "1000000000",
+            "bot.outbound.chatPerSecond", "1000000000",
+            "bot.outbound.chatBurst", "1000000");
+    private static final Map<String, String> PREVIOUS_LIMITS = new HashMap<>();
+
+    private static RecordingBot bot;
+
+    @BeforeAll
+    static void setUp() {
+        OUTBOUND_LIMITS.forEach((key, value) -> PREVIOUS_LIMITS.put(key, System.setProperty(key, value)));
+        bot = new RecordingBot();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        try {
+            bot.onClosing();
+        } finally {
+            PREVIOUS_LIMITS.forEach((key, value) -> {
+                if (value == null) {
+                    System.clearProperty(key);
+                } else {
+                    System.setProperty(key, value);
+                }
+            });
+            PREVIOUS_LIMITS.clear();
+        }
+    }
+
+    @Test
+    void interleavedChatsAlwaysGetRepliesInTheirOwnLanguage() throws Exception {
+        AtomicInteger updateIds = new AtomicInteger();
+        bot.expect(CHATS);
+        for (int chat = 0; chat < CHATS; chat++) {
+            bot.onUpdateReceived(message(updateIds.incrementAndGet(), chatId(chat), LANGUAGE_LABELS[chat % 3]));
+        }
+        assertTrue(bot.await(), "language selection replies");
+
+        List<Update> flood = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int chat = 0; chat < CHATS; chat++) {
+                int lang = chat % 3;
+                flood.add(message(updateIds.incrementAndGet(), chatId(chat), SETTINGS_LABELS[lang]));
+                flood.add(message(updateIds.incrementAndGet(), chatId(chat), ACCOUNTS_LABELS[lang]));
+                flood.add(message(updateIds.incrementAndGet(), chatId(chat), "salam"));
+            }
+        }
+        Collections.shuffle(flood);
+        bot.expect(flood.size());
+        ExecutorService pollers = Executors.newFixedThreadPool(8);
+        List<Future<?>> submitted = new ArrayList<>();
+        int slice = flood.size() / 8;
+        for (int i = 0; i < 8; i++) {
+            List<Update> part = flood.subList(i * slice, i == 7 ? flood.size() : (i + 1) * slice);
+            submitted.add(pollers.submit(() -> part.forEach(bot::onUpdateReceived)));
+        }
+        for (Future<?> future : submitted) {
+            future.get();
+        }
+        pollers.shutdown();
+        assertTrue(bot.await(), "flood replies");
+
+        for (int chat = 0; chat < CHATS; chat++) {
+            String lang = LANGS[chat % 3];
+            Set<String> expected = expectedTexts(lang);
+            List<String> replies = new ArrayList<>(bot.replies.get(chatId(chat)));
+            assertEquals(1 + ROUNDS * 3, replies.size(), "replies for chat " + chat);
+            for (String reply : replies) {
+                assertTrue(expected.contains(reply), "chat " + chat + " (" + lang + ") got " + reply);
+            }
+        }
+    }
+
+    private static Set<String> expectedTexts(String lang) {
+        LanguageElement element = LanguageElement.of(lang);
+        return Set.of(element.authenticationText, element.selectAction, element.accountsTypesText.trim());
+    }
+
+    private static long chatId(int chat) {
+        return 10_000L + chat;
+    }
+
+    private static Update message(int updateId, long chatId, String text) {
+        ObjectNode update = MAPPER.createObjectNode().put("update_id", updateId);
+        ObjectNode message = update.putObject("message")
+                .put("message_id", updateId)
+                .put("date", 1570000000)
+                .put("text", text);
+        message.putObject("chat").put("id", chatId).put("type", "private");
+        message.putObject("from").put("id", chatId).put("is_bot", false).put("first_name", "User");
+        try {
+            return MAPPER.treeToValue(update, Update.class);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class RecordingBot extends BotConfig {
+
+        private final Map<Long, ConcurrentLinkedQueue<String>> replies = new ConcurrentHashMap<>();
+        private volatile CountDownLatch pending = new CountDownLatch(0);
+
+        private RecordingBot() {
+            super(new DefaultBotOptions());
+        }
+
+        @Override
+        public <T extends Serializable, Method extends BotApiMethod<T>> T execute(Method method) {
+            if (method instanceof SendMessage) {
+                SendMessage sendMessage = (SendMessage) method;
+                replies.computeIfAbsent(Long.parseLong(sendMessage.getChatId()), key -> new ConcurrentLinkedQueue<>()).add(sendMessage.getText());
+                pending.countDown();
+            }
+            return null;
+        }
+
+        void expect(int count) {
+            pending = new CountDownLatch(count);
+        }
+
+        boolean await() throws InterruptedException {
+            return pending.await(60, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import langs.LanguageElement;
+import org.junit.jupiter.api.Test;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboard;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.ReplyKeyboardMarkup;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.KeyboardButton;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.buttons.KeyboardRow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeyboardRegistryTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void repliesShareOneKeyboardPerLanguage() {
+        assertSame(guestKeyboard(1L), guestKeyboard(2L));
+    }
+
+    @Test
+    void sharedKeyboardsRejectMutation() {
+        ReplyKeyboardMarkup guest = guestKeyboard(1L);
+        KeyboardRow row = guest.getKeyboard().get(0);
+        assertThrows(UnsupportedOperationException.class, () -> row.add(new KeyboardButton("extra")));
+        assertThrows(UnsupportedOperationException.class, () -> row.add("extra"));
+        assertThrows(UnsupportedOperationException.class, () -> row.remove(0));
+        assertThrows(UnsupportedOperationException.class, row::clear);
+        assertThrows(UnsupportedOperationException.class, () -> guest.getKeyboard().add(new KeyboardRow()));
+        assertThrows(UnsupportedOperationException.class, () -> guest.setOneTimeKeyboard(true));
+
+        InlineKeyboardMarkup accounts = BotInlineButtonsConfig.CUSTOMER_ACCOUNTS;
+        assertThrows(UnsupportedOperationException.class, () -> accounts.getKeyboard().get(0).remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> accounts.setKeyboard(new ArrayList<>()));
+    }
+
+    @Test
+    void sharedKeyboardsSerializeLikePlainOnes() throws Exception {
+        KeyboardRow row = new KeyboardRow();
+        row.add(new KeyboardButton("\ud83c\udf0d " + LanguageElement.of("en").languageText.trim()));
+        KeyboardRow back = new KeyboardRow();
+        back.add(new KeyboardButton("\ud83d\udd19 " + LanguageElement.of("en").backFunction.trim()));
+        ReplyKeyboardMarkup plain = new ReplyKeyboardMarkup()
+                .setSelective(true)
+                .setResizeKeyboard(true)
+                .setOneTimeKeyboard(false)
+                .setKeyboard(List.of(row, back));
+
+        ReplyKeyboard settings = KeyboardRegistry.keyboard(true, context(1L, null), BotConfig.ButtonsType.SETTINGS);
+        assertEquals(MAPPER.writeValueAsString(plain), MAPPER.writeValueAsString(settings));
+    }
+
+    private static ReplyKeyboardMarkup guestKeyboard(long chatId) {
+        return (ReplyKeyboardMarkup) KeyboardRegistry.keyboard(true, context(chatId, null), BotConfig.ButtonsType.NULL);
+    }
+
+    private static RequestContext context(long chatId, String phoneNumber) {
+        return new RequestContext(chatId, "en", phoneNumber, UpdateScope.fromSystemProperties(System.nanoTime()));
+    }
+}
@@ -0,0 +1,40 @@
+package config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpdateScopeTest {
+
+    @Test
+    void cancelsTrackedCallsAtTheDeadline() throws Exception {
+        UpdateScope scope = new UpdateScope(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(100));
+        CompletableFuture<String> slow = scope.track(new CompletableFuture<>());
+        CompletableFuture<String> fast = scope.track(new CompletableFuture<>());
+        fast.complete("done");
+        assertFalse(scope.isExpired());
+
+        Thread.sleep(300);
+        assertTrue(scope.isExpired());
+        assertTrue(slow.isCancelled());
+        assertFalse(fast.isCancelled());
+    }
+
+    @Test
+    void expiredScopeCancelsImmediately() {
+        UpdateScope scope = new UpdateScope(System.nanoTime() - TimeUnit.SECONDS.toNanos(2), TimeUnit.SECONDS.toNanos(1));
+        assertTrue(scope.isExpired());
+        assertTrue(scope.track(new CompletableFuture<>()).isCancelled());
+    }
+
+    @Test
+    void zeroTimeoutNeverExpires() {
+        UpdateScope scope = new UpdateScope(System.nanoTime() - TimeUnit.HOURS.toNanos(1), 0L);
+        assertFalse(scope.isExpired());
+        assertFalse(scope.track(new CompletableFuture<>()).isCancelled());
+    }
+}
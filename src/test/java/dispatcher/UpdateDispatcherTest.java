@@ -0,0 +1,83 @@
+package dispatcher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpdateDispatcherTest {
+
+    private static final long CHAT = 42L;
+
+    private final UpdateDispatcher dispatcher = new UpdateDispatcher(2, 4);
+
+    @AfterEach
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void errorInATaskKeepsTheChatLaneAlive() throws Exception {
+        CountDownLatch next = new CountDownLatch(1);
+        assertTrue(dispatcher.dispatch(CHAT, () -> {
+            throw new StackOverflowError("task failed");
+        }));
+        assertTrue(dispatcher.dispatch(CHAT, next::countDown));
+
+        assertTrue(next.await(10, TimeUnit.SECONDS));
+        assertTrue(dispatcher.dispatch(CHAT, () -> {
+        }));
+    }
+
+    @Test
+    void dispatchAfterShutdownIsRejectedWithoutLeakingBacklog() {
+        dispatcher.shutdown();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < 10; i++) {
+                assertFalse(dispatcher.dispatch(CHAT + i % 2, () -> {
+                }));
+            }
+        });
+        assertEquals(10, dispatcher.getMetrics().getRejected());
+        assertEquals(0, dispatcher.getMetrics().getDispatched());
+        assertEquals(0, dispatcher.getMetrics().getQueueDepth());
+        assertEquals(0, dispatcher.getActiveChats());
+    }
+
+    @Test
+    void shutdownFinishesUpdatesAlreadyQueuedForAChat() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+        assertTrue(dispatcher.dispatch(CHAT, () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ran.add(0);
+        }));
+        for (int i = 1; i < 4; i++) {
+            int order = i;
+            assertTrue(dispatcher.dispatch(CHAT, () -> ran.add(order)));
+        }
+        dispatcher.shutdown();
+        release.countDown();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (ran.size() < 4) {
+                Thread.sleep(10);
+            }
+        });
+        assertEquals(List.of(0, 1, 2, 3), ran);
+        assertEquals(0, dispatcher.getActiveChats());
+    }
+}
@@ -0,0 +1,20 @@
+package langs;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LanguageCatalogTest {
+
+    @Test
+    void missingLanguageFallsBackToDefault() {
+        assertSame(LanguageCatalog.get("az"), LanguageCatalog.get(null));
+        assertSame(LanguageElement.of("az"), LanguageElement.of(null));
+    }
+
+    @Test
+    void unsupportedLanguageIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LanguageCatalog.get("de"));
+    }
+}
@@ -0,0 +1,83 @@
+package replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpdateAnonymizerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void saltsWithTheSameHashCodeStillDiffer() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        ObjectNode first = anonymizer("Aa").anonymize(message(777000123L, "salam"));
+        ObjectNode second = anonymizer("BB").anonymize(message(777000123L, "salam"));
+        assertNotEquals(chatId(first), chatId(second));
+        assertNotEquals(first.at("/message/from/id").asLong(), second.at("/message/from/id").asLong());
+    }
+
+    @Test
+    void sameKeyMapsIdsConsistently() {
+        UpdateAnonymizer anonymizer = anonymizer("capture-2019-10");
+        long first = chatId(anonymizer.anonymize(message(777000123L, "salam")));
+        long second = chatId(anonymizer.anonymize(message(777000123L, "/start")));
+        assertEquals(first, second);
+        assertNotEquals(777000123L, first);
+        assertTrue(chatId(anonymizer.anonymize(message(-1001234567890L, "salam"))) < 0);
+    }
+
+    @Test
+    void scrubsPhoneLikeDigitsInTextAndCallbackData() {
+        UpdateAnonymizer anonymizer = anonymizer("capture-2019-10");
+        String text = anonymizer.anonymize(message(1L, "my number is +994 50 123-45-67, card 4169 7388")).at("/message/text").asText();
+        assertFalse(text.contains("123-45-67"));
+        assertTrue(text.startsWith("my number is +"));
+        assertTrue(text.matches("my number is \\+\\d{3} \\d{2} \\d{3}-\\d{2}-\\d{2}, card \\d{4} \\d{4}"), text);
+
+        ObjectNode callback = MAPPER.createObjectNode();
+        callback.putObject("callback_query").put("data", "AZN_Account");
+        assertEquals("AZN_Account", anonymizer.anonymize(callback).at("/callback_query/data").asText());
+        callback.with("callback_query").put("data", "pay:994501234567");
+        assertFalse(anonymizer.anonymize(callback).at("/callback_query/data").asText().contains("994501234567"));
+    }
+
+    @Test
+    void keepsShortNumbersAndThePhonePrefix() {
+        UpdateAnonymizer anonymizer = anonymizer("capture-2019-10");
+        assertEquals("Baku 28 May, 2019", anonymizer.anonymize(message(1L, "Baku 28 May, 2019")).at("/message/text").asText());
+
+        ObjectNode update = message(1L, null);
+        update.with("message").putObject("contact").put("phone_number", "+994501234567").put("user_id", 5);
+        String phone = anonymizer.anonymize(update).at("/message/contact/phone_number").asText();
+        assertTrue(phone.startsWith("+99450"));
+        assertEquals(13, phone.length());
+        assertNotEquals("+994501234567", phone);
+    }
+
+    private static UpdateAnonymizer anonymizer(String salt) {
+        return new UpdateAnonymizer(salt.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long chatId(ObjectNode update) {
+        return update.at("/message/chat/id").asLong();
+    }
+
+    private static ObjectNode message(long chatId, String text) {
+        ObjectNode update = MAPPER.createObjectNode().put("update_id", 1);
+        ObjectNode message = update.putObject("message").put("message_id", 1);
+        if (text != null) {
+            message.put("text", text);
+        }
+        message.putObject("chat").put("id", chatId).put("type", chatId < 0 ? "supergroup" : "private");
+        message.putObject("from").put("id", Math.abs(chatId)).put("first_name", "Shirin").put("username", "shirin");
+        return update;
+    }
+}
@@ -0,0 +1,75 @@
+package replay;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpdateRecorderTest {
+
+    @TempDir
+    Path dir;
+
+    private Path log;
+    private byte[] existing;
+    private String previousFile;
+    private String previousSalt;
+
+    @BeforeEach
+    void writeExistingLog() throws IOException {
+        log = dir.resolve("updates.bin");
+        new UpdateRecorder(log, new byte[]{1, 2, 3}).close();
+        existing = Files.readAllBytes(log);
+        previousFile = System.setProperty("bot.capture.file", log.toString());
+        previousSalt = System.clearProperty("bot.capture.salt");
+    }
+
+    @AfterEach
+    void restoreProperties() {
+        restore("bot.capture.file", previousFile);
+        restore("bot.capture.salt", previousSalt);
+    }
+
+    @Test
+    void randomKeyNeverAppendsToAnExistingLog() throws IOException {
+        UpdateRecorder recorder = UpdateRecorder.fromSystemProperties();
+        recorder.close();
+
+        assertArrayEquals(existing, Files.readAllBytes(log));
+        assertEquals(2, files());
+        assertTrue(recorder.toString().contains("updates.bin."));
+    }
+
+    @Test
+    void stableSaltAppendsToTheExistingLog() throws IOException {
+        System.setProperty("bot.capture.salt", "capture-2019-10");
+        UpdateRecorder recorder = UpdateRecorder.fromSystemProperties();
+        recorder.close();
+
+        assertEquals(1, files());
+        assertTrue(recorder.toString().contains("file=" + log + " "));
+    }
+
+    private long files() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static void restore(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package webclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HtmlExtractorTest {
+
+    private static final String RATES_TABLE_CLASS = "currency_top currency_prices";
+
+    @Test
+    void newsHeadlinesSkipScriptsCommentsAndSimilarClasses() throws IOException {
+        try (Reader html = fixture("news.html")) {
+            assertEquals(List.of(
+                    "PASHA Bank announces results for the first half of 2019",
+                    "PASHA Bank & Visa launch «Miles» cards – now in Ganja!",
+                    "PASHA Bank supports the Baku Marathon 2019\nSport",
+                    "New mobile banking features for corporate customers"),
+                    HtmlExtractor.elementTexts(html, "div", "news-box-news", 10));
+        }
+    }
+
+    @Test
+    void newsHeadlinesStopAtLimit() throws IOException {
+        try (Reader html = fixture("news.html")) {
+            assertEquals(3, HtmlExtractor.elementTexts(html, "div", "news-box-news", 3).size());
+        }
+    }
+
+    @Test
+    void ratesTableMatchesExactClassOutsideScriptsAndComments() throws IOException {
+        try (Reader html = fixture("rates.html")) {
+            List<List<String>> rows = HtmlExtractor.tableRows(html, RATES_TABLE_CLASS, 0);
+            assertEquals(6, rows.size());
+            assertEquals(List.of("Valyuta", "Alış", "Satış"), rows.get(0));
+            assertEquals(List.of("USD", "1.6950", "1.7050"), rows.get(1));
+            assertEquals(List.of("TRY", "0.2750", "0.3050"), rows.get(5));
+        }
+    }
+
+    @Test
+    void cashlessRatesAreParsedFromSecondTable() throws IOException {
+        try (Reader html = fixture("rates.html")) {
+            CurrencyRatesSnapshot snapshot = CurrencyRatesContent.parse(HtmlExtractor.tableRows(html, RATES_TABLE_CLASS, 1));
+            assertArrayEquals(new Object[]{"1.6985", "1.7035", "1.8430", "1.8795", "0.0250", "0.0275",
+                    "2.0650", "2.1350", "0.2780", "0.3010"}, snapshot.getRates());
+        }
+    }
+
+    @Test
+    void missingTableIsReported() throws IOException {
+        try (Reader html = fixture("rates.html")) {
+            assertThrows(IOException.class, () -> HtmlExtractor.tableRows(html, RATES_TABLE_CLASS, 2));
+        }
+    }
+
+    private static Reader fixture(String name) {
+        InputStream in = HtmlExtractorTest.class.getResourceAsStream("/webclient/" + name);
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package webclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HtmlScannerTest {
+
+    @Test
+    void decodesNamedAndNumericEntities() {
+        assertEquals("a & b «» – € A \"q\" 'x'", decode("a &amp; b &laquo;&raquo; &#8211; &#8364; &#x41; &quot;q&quot; &apos;x&apos;"));
+    }
+
+    @Test
+    void leavesUnknownAndUnterminatedEntitiesAlone() {
+        assertEquals("&unknown; AT&T &#xZZ; &amp", decode("&unknown; AT&T &#xZZ; &amp"));
+    }
+
+    @Test
+    void readsQuotedUnquotedAndBareAttributes() throws IOException {
+        HtmlScanner scanner = new HtmlScanner(new StringReader("<TD Class='a &amp; b' colspan=2 nowrap data-x=\"1\"/>"));
+        assertEquals(HtmlScanner.TokenType.START_TAG, scanner.next());
+        assertEquals("td", scanner.tagName());
+        assertEquals("a & b", scanner.attribute("class"));
+        assertEquals("2", scanner.attribute("colspan"));
+        assertEquals("", scanner.attribute("nowrap"));
+        assertEquals("1", scanner.attribute("data-x"));
+        assertTrue(scanner.isSelfClosing());
+    }
+
+    @Test
+    void skipsCommentsDoctypeAndRawText() throws IOException {
+        String html = "<!DOCTYPE html><!-- <b>x</b> -- still comment --->"
+                + "<script>if (a < b) { s = '</scr' + 'ipt>'; }</SCRIPT>"
+                + "<style>p:after { content: '</p>'; }</style>"
+                + "<p>1 < 2</p>";
+        assertEquals("[start p][text 1 ][text < 2][end p]", tokens(html));
+    }
+
+    private static String decode(String text) {
+        StringBuilder builder = new StringBuilder(text);
+        HtmlScanner.decodeEntities(builder);
+        return builder.toString();
+    }
+
+    private static String tokens(String html) throws IOException {
+        HtmlScanner scanner = new HtmlScanner(new StringReader(html));
+        StringBuilder tokens = new StringBuilder();
+        HtmlScanner.TokenType token;
+        while ((token = scanner.next()) != HtmlScanner.TokenType.EOF) {
+            switch (token) {
+                case START_TAG:
+                    tokens.append("[start ").append(scanner.tagName()).append(']');
+                    break;
+                case END_TAG:
+                    tokens.append("[end ").append(scanner.tagName()).append(']');
+                    break;
+                default:
+                    tokens.append("[text ").append(scanner.text()).append(']');
+                    break;
+            }
+        }
+        return tokens.toString();
+    }
+}